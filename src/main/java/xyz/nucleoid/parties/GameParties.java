@@ -4,12 +4,18 @@ import net.fabricmc.api.ModInitializer;
 import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
 
 public final class GameParties implements ModInitializer {
+    public static final String ID = "game_parties";
+
     @Override
     public void onInitialize() {
         CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> {
             PartyCommand.register(dispatcher);
         });
 
-        PartyManager.register();
+        var config = PartyConfig.load();
+
+        PartyManager.register(config);
+        PartyStatusServer.register(config.status());
+        PartyEventExporter.register(config.export());
     }
 }
@@ -6,22 +6,29 @@ import net.minecraft.server.MinecraftServer;
 import xyz.nucleoid.plasmid.api.game.player.MutablePlayerSet;
 import xyz.nucleoid.plasmid.api.util.PlayerRef;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 public final class Party {
     private PlayerRef owner;
 
     private final List<PlayerRef> members = new ObjectArrayList<>();
     private final Set<PlayerRef> pendingMembers = new ObjectOpenHashSet<>();
+    private final Set<PlayerRef> pendingMembersView = Collections.unmodifiableSet(this.pendingMembers);
 
     private final MutablePlayerSet memberPlayers;
 
     private final UUID uuid;
 
-    Party(MinecraftServer server, PlayerRef owner) {
+    private final Consumer<Party> dirtyListener;
+
+    Party(MinecraftServer server, PlayerRef owner, Consumer<Party> dirtyListener) {
         this.memberPlayers = new MutablePlayerSet(server);
+        this.dirtyListener = dirtyListener;
         this.setOwner(owner);
 
         this.uuid = UUID.randomUUID();
@@ -34,27 +41,38 @@ public final class Party {
     void setOwner(PlayerRef owner) {
         this.owner = owner;
         this.add(owner);
+        this.markDirty();
     }
 
     boolean invite(PlayerRef player) {
         if (this.memberPlayers.contains(player)) {
             return false;
         }
-        return this.pendingMembers.add(player);
+        if (this.pendingMembers.add(player)) {
+            this.markDirty();
+            return true;
+        }
+        return false;
     }
 
     void add(PlayerRef player) {
         if (this.memberPlayers.add(player)) {
             this.members.add(player);
+            this.markDirty();
         }
     }
 
     boolean remove(PlayerRef player) {
         if (this.memberPlayers.remove(player)) {
             this.members.remove(player);
+            this.markDirty();
+            return true;
+        }
+        if (this.pendingMembers.remove(player)) {
+            this.markDirty();
             return true;
         }
-        return this.pendingMembers.remove(player);
+        return false;
     }
 
     boolean acceptInvite(PlayerRef player) {
@@ -65,6 +83,46 @@ public final class Party {
         return false;
     }
 
+    boolean cancelInvite(PlayerRef player) {
+        if (this.pendingMembers.remove(player)) {
+            this.markDirty();
+            return true;
+        }
+        return false;
+    }
+
+    void clearPendingMembers() {
+        if (!this.pendingMembers.isEmpty()) {
+            this.pendingMembers.clear();
+            this.markDirty();
+        }
+    }
+
+    int removePendingMembersIf(Predicate<PlayerRef> predicate) {
+        int count = this.pendingMembers.size();
+        if (this.pendingMembers.removeIf(predicate)) {
+            this.markDirty();
+        }
+        return count - this.pendingMembers.size();
+    }
+
+    void clear() {
+        for (var member : this.members) {
+            this.memberPlayers.remove(member);
+        }
+        this.members.clear();
+        this.clearPendingMembers();
+        this.markDirty();
+    }
+
+    /**
+     * Flags this party as changed since it was last observed. The listener is notified of every change, so that it can
+     * track each mutation even when the party is already queued for the next tick.
+     */
+    void markDirty() {
+        this.dirtyListener.accept(this);
+    }
+
     public boolean contains(PlayerRef player) {
         return this.memberPlayers.contains(player);
     }
@@ -81,6 +139,10 @@ public final class Party {
         return this.members;
     }
 
+    public Set<PlayerRef> getPendingMembers() {
+        return this.pendingMembersView;
+    }
+
     public MutablePlayerSet getMemberPlayers() {
         return this.memberPlayers;
     }
@@ -2,15 +2,18 @@ package xyz.nucleoid.parties;
 
 import com.mojang.brigadier.Command;
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.logging.LogUtils;
 import net.minecraft.command.argument.EntityArgumentType;
-import net.minecraft.command.argument.GameProfileArgumentType;
 import net.minecraft.command.argument.UuidArgumentType;
 import net.minecraft.screen.ScreenTexts;
 import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
 import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
+import org.slf4j.Logger;
 import xyz.nucleoid.plasmid.api.util.PlayerRef;
 
 import java.util.ArrayList;
@@ -20,6 +23,8 @@ import static net.minecraft.server.command.CommandManager.argument;
 import static net.minecraft.server.command.CommandManager.literal;
 
 public final class PartyCommand {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
     // @formatter:off
     public static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
         dispatcher.register(
@@ -33,23 +38,28 @@ public final class PartyCommand {
                     .executes(PartyCommand::invitePlayer)
                 ))
                 .then(literal("kick")
-                    .then(argument("player", GameProfileArgumentType.gameProfile())
+                    .then(argument("player", StringArgumentType.word())
+                    .suggests(PartySuggestions::ownMembersAndInvites)
                     .executes(PartyCommand::kickPlayer)
                 ))
                 .then(literal("transfer")
                     .then(argument("player", EntityArgumentType.player())
+                    .suggests(PartySuggestions::ownMembers)
                     .executes(PartyCommand::transferToPlayer)
                 ))
                 .then(literal("accept")
                     .then(argument("owner", EntityArgumentType.player())
+                        .suggests(PartySuggestions::invitedOwners)
                         .executes(PartyCommand::acceptInviteByOwner)
                     )
                     .then(argument("party", UuidArgumentType.uuid())
+                        .suggests(PartySuggestions::invitedParties)
                         .executes(PartyCommand::acceptInviteByUuid)
                     )
                 )
                 .then(literal("leave").executes(PartyCommand::leave))
                 .then(literal("disband").executes(PartyCommand::disband))
+                .then(literal("sidebar").executes(PartyCommand::toggleSidebar))
                 .then(literal("add")
                     .requires(source -> source.hasPermissionLevel(2))
                     .then(argument("player", EntityArgumentType.player())
@@ -61,11 +71,25 @@ public final class PartyCommand {
                         )
                     )
                 )
+                .then(literal("merge")
+                    .requires(source -> source.hasPermissionLevel(2))
+                    .then(argument("first", EntityArgumentType.player())
+                        .then(argument("second", EntityArgumentType.player())
+                            .executes(PartyCommand::mergeParties)
+                        )
+                    )
+                )
                 .then(literal("remove")
                     .requires(source -> source.hasPermissionLevel(2))
+                    .then(literal("offline")
+                        .then(argument("name", StringArgumentType.word())
+                            .executes(PartyCommand::removePlayerByName)
+                        )
+                    )
                     .then(argument("player", EntityArgumentType.player())
-                    .executes(PartyCommand::removePlayer)
-                ))
+                        .executes(PartyCommand::removePlayer)
+                    )
+                )
         );
     }
     // @formatter:on
@@ -86,6 +110,7 @@ public final class PartyCommand {
 
         source.sendFeedback(() -> {
             var text = Text.empty();
+            var language = PartyTextCache.language(source);
             boolean first = true;
 
             for (var party : parties) {
@@ -95,7 +120,7 @@ public final class PartyCommand {
                     text.append(ScreenTexts.LINE_BREAK);
                 }
 
-                text.append(PartyTexts.listEntry(party.getUuid()));
+                text.append(PartyTextCache.localize(PartyTexts.listEntry(party.getUuid()), language));
 
                 var members = new ArrayList<>(party.getMembers());
                 members.sort(Comparator.comparing(PlayerRef::id));
@@ -104,11 +129,11 @@ public final class PartyCommand {
                     text.append(ScreenTexts.LINE_BREAK);
 
                     if (party.isOwner(member)) {
-                        text.append(PartyTexts.listMemberEntryType(member, server, PartyTexts.listMemberTypeOwner().formatted(Formatting.LIGHT_PURPLE)));
+                        text.append(PartyTextCache.localize(PartyTexts.listMemberEntryType(member, server, PartyTexts.listMemberTypeOwner().formatted(Formatting.LIGHT_PURPLE)), language));
                     } else if (party.contains(member)) {
-                        text.append(PartyTexts.listMemberEntry(member, server));
+                        text.append(PartyTextCache.localize(PartyTexts.listMemberEntry(member, server), language));
                     } else {
-                        text.append(PartyTexts.listMemberEntryType(member, server, PartyTexts.listMemberTypePending().formatted(Formatting.GRAY)));
+                        text.append(PartyTextCache.localize(PartyTexts.listMemberEntryType(member, server, PartyTexts.listMemberTypePending().formatted(Formatting.GRAY)), language));
                     }
                 }
             }
@@ -133,7 +158,7 @@ public final class PartyCommand {
             var notification = PartyTexts.invitedReceiver(owner, result.party().getUuid())
                     .formatted(Formatting.GOLD);
 
-            player.sendMessage(notification, false);
+            PartyTextCache.send(player, notification);
         } else {
             var error = result.error();
             source.sendError(PartyTexts.displayError(error, player));
@@ -144,32 +169,53 @@ public final class PartyCommand {
 
     private static int kickPlayer(CommandContext<ServerCommandSource> ctx) throws CommandSyntaxException {
         var source = ctx.getSource();
-        var server = source.getServer();
         var owner = source.getPlayer();
+        var name = StringArgumentType.getString(ctx, "player");
 
-        var profiles = GameProfileArgumentType.getProfileArgument(ctx, "player");
-
-        for (var profile : profiles) {
-            var partyManager = PartyManager.get(source.getServer());
-            var result = partyManager.kickPlayer(PlayerRef.of(owner), PlayerRef.of(profile));
-            if (result.isOk()) {
-                var party = result.party();
-
-                var message = PartyTexts.kickedSender(owner);
-                party.getMemberPlayers().sendMessage(message.formatted(Formatting.GOLD));
+        var partyManager = PartyManager.get(source.getServer());
+        var party = partyManager.getOwnParty(PlayerRef.of(owner));
+        if (party == null) {
+            source.sendError(PartyTexts.displayError(PartyError.DOES_NOT_EXIST, name));
+            return Command.SINGLE_SUCCESS;
+        }
 
-                PlayerRef.of(profile).ifOnline(server, player -> {
-                    player.sendMessage(PartyTexts.kickedReceiver().formatted(Formatting.RED), false);
-                });
-            } else {
-                var error = result.error();
-                source.sendError(PartyTexts.displayError(error, profile.getName()));
-            }
+        // members are resolved from the party itself, so only unknown names need a profile lookup
+        var player = partyManager.findInParty(party, name);
+        if (player != null) {
+            kickResolvedPlayer(source, owner, player, name);
+        } else {
+            partyManager.lookupPlayer(name).whenComplete((profile, throwable) -> {
+                if (throwable != null) {
+                    onLookupFailed(source, name, throwable);
+                } else if (profile.isPresent()) {
+                    kickResolvedPlayer(source, owner, profile.get(), name);
+                } else {
+                    source.sendError(PartyTexts.displayError(PartyError.NOT_IN_PARTY, name));
+                }
+            });
         }
 
         return Command.SINGLE_SUCCESS;
     }
 
+    private static void kickResolvedPlayer(ServerCommandSource source, ServerPlayerEntity owner, PlayerRef player, String name) {
+        var partyManager = PartyManager.get(source.getServer());
+        var result = partyManager.kickPlayer(PlayerRef.of(owner), player);
+        if (result.isOk()) {
+            var party = result.party();
+
+            var message = PartyTexts.kickedSender(owner);
+            PartyTextCache.send(party.getMemberPlayers(), message.formatted(Formatting.GOLD));
+
+            player.ifOnline(source.getServer(), kickedPlayer -> {
+                PartyTextCache.send(kickedPlayer, PartyTexts.kickedReceiver().formatted(Formatting.RED));
+            });
+        } else {
+            var error = result.error();
+            source.sendError(PartyTexts.displayError(error, name));
+        }
+    }
+
     private static int transferToPlayer(CommandContext<ServerCommandSource> ctx) throws CommandSyntaxException {
         var source = ctx.getSource();
         var oldOwner = source.getPlayer();
@@ -183,10 +229,7 @@ public final class PartyCommand {
                     false
             );
 
-            newOwner.sendMessage(
-                    PartyTexts.transferredReceiver(oldOwner).formatted(Formatting.GOLD),
-                    false
-            );
+            PartyTextCache.send(newOwner, PartyTexts.transferredReceiver(oldOwner.getDisplayName()).formatted(Formatting.GOLD));
         } else {
             var error = result.error();
             source.sendError(PartyTexts.displayError(error, newOwner));
@@ -216,8 +259,7 @@ public final class PartyCommand {
         var partyManager = PartyManager.get(source.getServer());
         var result = partyManager.acceptInvite(PlayerRef.of(player), party);
         if (result.isOk()) {
-            var message = PartyTexts.joinSuccess(player);
-            party.getMemberPlayers().sendMessage(message.formatted(Formatting.GOLD));
+            partyManager.notifyMembers(party, PartyNotifications.Kind.JOINED, player.getDisplayName());
         } else {
             var error = result.error();
             source.sendError(PartyTexts.displayError(error, player));
@@ -236,7 +278,7 @@ public final class PartyCommand {
             var party = result.party();
 
             var message = PartyTexts.leaveSuccess(player);
-            party.getMemberPlayers().sendMessage(message.formatted(Formatting.GOLD));
+            PartyTextCache.send(party.getMemberPlayers(), message.formatted(Formatting.GOLD));
         } else {
             var error = result.error();
             source.sendError(PartyTexts.displayError(error, player));
@@ -255,7 +297,7 @@ public final class PartyCommand {
             var party = result.party();
 
             var message = PartyTexts.disbandSuccess();
-            party.getMemberPlayers().sendMessage(message.formatted(Formatting.GOLD));
+            PartyTextCache.send(party.getMemberPlayers(), message.formatted(Formatting.GOLD));
         } else {
             var error = result.error();
             source.sendError(PartyTexts.displayError(error, owner));
@@ -264,6 +306,25 @@ public final class PartyCommand {
         return Command.SINGLE_SUCCESS;
     }
 
+    private static int toggleSidebar(CommandContext<ServerCommandSource> ctx) throws CommandSyntaxException {
+        var source = ctx.getSource();
+        var player = source.getPlayer();
+
+        var partyManager = PartyManager.get(source.getServer());
+        var ref = PlayerRef.of(player);
+        if (partyManager.toggleSidebar(ref)) {
+            if (partyManager.getParty(ref) != null) {
+                source.sendFeedback(() -> PartyTexts.sidebarEnabled().formatted(Formatting.GOLD), false);
+            } else {
+                source.sendFeedback(() -> PartyTexts.sidebarEnabledNoParty().formatted(Formatting.GOLD), false);
+            }
+        } else {
+            source.sendFeedback(() -> PartyTexts.sidebarDisabled().formatted(Formatting.GOLD), false);
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
     private static int addPlayerByOwner(CommandContext<ServerCommandSource> ctx) throws CommandSyntaxException {
         var owner = EntityArgumentType.getPlayer(ctx, "owner");
         var partyManager = PartyManager.get(ctx.getSource().getServer());
@@ -286,7 +347,7 @@ public final class PartyCommand {
         var result = partyManager.addPlayer(PlayerRef.of(player), party);
         if (result.isOk()) {
             var message = PartyTexts.addSuccess(player);
-            party.getMemberPlayers().sendMessage(message.formatted(Formatting.GOLD));
+            PartyTextCache.send(party.getMemberPlayers(), message.formatted(Formatting.GOLD));
         } else {
             var error = result.error();
             source.sendError(PartyTexts.displayError(error, player));
@@ -295,20 +356,76 @@ public final class PartyCommand {
         return Command.SINGLE_SUCCESS;
     }
 
+    private static int mergeParties(CommandContext<ServerCommandSource> ctx) throws CommandSyntaxException {
+        var source = ctx.getSource();
+        var first = EntityArgumentType.getPlayer(ctx, "first");
+        var second = EntityArgumentType.getPlayer(ctx, "second");
+
+        var partyManager = PartyManager.get(source.getServer());
+        var firstParty = partyManager.getOwnParty(PlayerRef.of(first));
+        var secondParty = partyManager.getOwnParty(PlayerRef.of(second));
+
+        var result = partyManager.mergeParties(firstParty, secondParty);
+        if (result.isOk()) {
+            var message = PartyTexts.mergeSuccess(first, second);
+            PartyTextCache.send(result.party().getMemberPlayers(), message.formatted(Formatting.GOLD));
+        } else {
+            var error = result.error();
+            source.sendError(PartyTexts.displayError(error, firstParty == null ? first : second));
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
     private static int removePlayer(CommandContext<ServerCommandSource> ctx) throws CommandSyntaxException {
         var source = ctx.getSource();
         var player = EntityArgumentType.getPlayer(ctx, "player");
 
+        removeResolvedPlayer(source, PlayerRef.of(player), player.getGameProfile().getName());
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static int removePlayerByName(CommandContext<ServerCommandSource> ctx) throws CommandSyntaxException {
+        var source = ctx.getSource();
+        var name = StringArgumentType.getString(ctx, "name");
+
         var partyManager = PartyManager.get(source.getServer());
-        var result = partyManager.removePlayer(PlayerRef.of(player));
+
+        var player = partyManager.findInAnyParty(name);
+        if (player != null) {
+            removeResolvedPlayer(source, player, name);
+        } else {
+            partyManager.lookupPlayer(name).whenComplete((profile, throwable) -> {
+                if (throwable != null) {
+                    onLookupFailed(source, name, throwable);
+                } else if (profile.isPresent()) {
+                    removeResolvedPlayer(source, profile.get(), name);
+                } else {
+                    source.sendError(PartyTexts.displayError(PartyError.NOT_IN_PARTY, name));
+                }
+            });
+        }
+
+        return Command.SINGLE_SUCCESS;
+    }
+
+    private static void removeResolvedPlayer(ServerCommandSource source, PlayerRef player, String name) {
+        var partyManager = PartyManager.get(source.getServer());
+        var result = partyManager.removePlayer(player);
         if (result.isOk()) {
-            var message = PartyTexts.removeSuccess(player);
-            result.party().getMemberPlayers().sendMessage(message.formatted(Formatting.GOLD));
+            var message = PartyTexts.removeSuccess(name);
+            PartyTextCache.send(result.party().getMemberPlayers(), message.formatted(Formatting.GOLD));
         } else {
             var error = result.error();
-            source.sendError(PartyTexts.displayError(error, player));
+            source.sendError(PartyTexts.displayError(error, name));
         }
+    }
 
-        return Command.SINGLE_SUCCESS;
+    private static void onLookupFailed(ServerCommandSource source, String name, Throwable throwable) {
+        LOGGER.warn("Failed to look up player profile for {}", name, throwable);
+
+        // a failed lookup may complete off the server thread
+        source.getServer().execute(() -> source.sendError(PartyTexts.lookupFailed(name)));
     }
 }
@@ -0,0 +1,91 @@
+package xyz.nucleoid.parties;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.DataResult;
+import com.mojang.serialization.JsonOps;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import net.fabricmc.loader.api.FabricLoader;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+
+public record PartyConfig(StatusConfig status, ExportConfig export, GroupingConfig grouping) {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    public static final PartyConfig DEFAULT = new PartyConfig(StatusConfig.DEFAULT, ExportConfig.DEFAULT, GroupingConfig.DEFAULT);
+
+    public static final Codec<PartyConfig> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+            StatusConfig.CODEC.optionalFieldOf("status", StatusConfig.DEFAULT).forGetter(PartyConfig::status),
+            ExportConfig.CODEC.optionalFieldOf("export", ExportConfig.DEFAULT).forGetter(PartyConfig::export),
+            GroupingConfig.CODEC.optionalFieldOf("grouping", GroupingConfig.DEFAULT).forGetter(PartyConfig::grouping)
+    ).apply(instance, PartyConfig::new));
+
+    public static PartyConfig load() {
+        var path = FabricLoader.getInstance().getConfigDir().resolve("game_parties.json");
+
+        if (!Files.exists(path)) {
+            try {
+                var json = CODEC.encodeStart(JsonOps.INSTANCE, DEFAULT).getOrThrow();
+                Files.writeString(path, new GsonBuilder().setPrettyPrinting().create().toJson(json));
+            } catch (IOException | IllegalStateException e) {
+                LOGGER.warn("Failed to write default game parties config to {}", path, e);
+            }
+            return DEFAULT;
+        }
+
+        try (var reader = Files.newBufferedReader(path)) {
+            var json = JsonParser.parseReader(reader);
+            return CODEC.parse(JsonOps.INSTANCE, json)
+                    .resultOrPartial(error -> LOGGER.warn("Failed to parse game parties config: {}", error))
+                    .orElse(DEFAULT);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to read game parties config from {}", path, e);
+            return DEFAULT;
+        }
+    }
+
+    private static Codec<Long> longRange(long min, long max) {
+        return Codec.LONG.validate(value -> value >= min && value <= max
+                ? DataResult.success(value)
+                : DataResult.error(() -> "Value " + value + " outside of range [" + min + ":" + max + "]")
+        );
+    }
+
+    public record StatusConfig(boolean enabled, int port) {
+        public static final StatusConfig DEFAULT = new StatusConfig(false, 25585);
+
+        public static final Codec<StatusConfig> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+                Codec.BOOL.optionalFieldOf("enabled", DEFAULT.enabled).forGetter(StatusConfig::enabled),
+                Codec.intRange(1, 65535).optionalFieldOf("port", DEFAULT.port).forGetter(StatusConfig::port)
+        ).apply(instance, StatusConfig::new));
+    }
+
+    public record ExportConfig(boolean enabled, String directory, int queueCapacity, long maxFileBytes, int maxFiles) {
+        private static final long MIN_FILE_BYTES = 1024;
+        private static final long MAX_FILE_BYTES = 1024L * 1024 * 1024;
+
+        public static final ExportConfig DEFAULT = new ExportConfig(false, "logs/party_events", 8192, 16L * 1024 * 1024, 16);
+
+        public static final Codec<ExportConfig> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+                Codec.BOOL.optionalFieldOf("enabled", DEFAULT.enabled).forGetter(ExportConfig::enabled),
+                Codec.STRING.optionalFieldOf("directory", DEFAULT.directory).forGetter(ExportConfig::directory),
+                Codec.intRange(1, Integer.MAX_VALUE).optionalFieldOf("queue_capacity", DEFAULT.queueCapacity).forGetter(ExportConfig::queueCapacity),
+                longRange(MIN_FILE_BYTES, MAX_FILE_BYTES).optionalFieldOf("max_file_bytes", DEFAULT.maxFileBytes).forGetter(ExportConfig::maxFileBytes),
+                Codec.intRange(1, Integer.MAX_VALUE).optionalFieldOf("max_files", DEFAULT.maxFiles).forGetter(ExportConfig::maxFiles)
+        ).apply(instance, ExportConfig::new));
+    }
+
+    public record GroupingConfig(boolean enabled, int maxGroupSize, PartyLobbyGroups.OversizedPolicy oversizedPolicy) {
+        public static final GroupingConfig DEFAULT = new GroupingConfig(false, 4, PartyLobbyGroups.OversizedPolicy.SPLIT);
+
+        public static final Codec<GroupingConfig> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+                Codec.BOOL.optionalFieldOf("enabled", DEFAULT.enabled).forGetter(GroupingConfig::enabled),
+                Codec.intRange(1, Integer.MAX_VALUE).optionalFieldOf("max_group_size", DEFAULT.maxGroupSize).forGetter(GroupingConfig::maxGroupSize),
+                PartyLobbyGroups.OversizedPolicy.CODEC.optionalFieldOf("oversized_policy", DEFAULT.oversizedPolicy).forGetter(GroupingConfig::oversizedPolicy)
+        ).apply(instance, GroupingConfig::new));
+    }
+}
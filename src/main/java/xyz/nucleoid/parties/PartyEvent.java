@@ -0,0 +1,30 @@
+package xyz.nucleoid.parties;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * A change in the lifecycle of a party, as recorded by the {@link PartyEventExporter}. For a merge, {@code party} and
+ * {@code size} describe the party which was absorbed, and {@code target} the party its members were moved into.
+ */
+public record PartyEvent(Type type, long time, UUID party, @Nullable UUID player, int size, @Nullable String game, @Nullable UUID target) {
+    public enum Type {
+        CREATED,
+        INVITED,
+        ACCEPTED,
+        KICKED,
+        LEFT,
+        TRANSFERRED,
+        MERGED,
+        DISBANDED,
+        GAME_JOINED;
+
+        private final String name = this.name().toLowerCase(Locale.ROOT);
+
+        public String getName() {
+            return this.name;
+        }
+    }
+}
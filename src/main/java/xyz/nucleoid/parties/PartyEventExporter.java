@@ -0,0 +1,220 @@
+package xyz.nucleoid.parties;
+
+import com.google.gson.stream.JsonWriter;
+import com.mojang.logging.LogUtils;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams {@link PartyEvent}s as newline-delimited JSON into size-rotated files. Events are handed to a background
+ * writer thread through a bounded queue: when the queue is full, events are dropped and counted rather than ever
+ * blocking the server thread.
+ */
+public final class PartyEventExporter {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final String FILE_PREFIX = "party-events-";
+    private static final String FILE_SUFFIX = ".ndjson";
+    private static final int BATCH_SIZE = 256;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+
+    private final PartyConfig.ExportConfig config;
+    private final Path directory;
+
+    private final ArrayBlockingQueue<PartyEvent> queue;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private BufferedWriter writer;
+    private long fileBytes;
+
+    private PartyEventExporter(PartyConfig.ExportConfig config, Path directory) {
+        this.config = config;
+        this.directory = directory;
+        this.queue = new ArrayBlockingQueue<>(config.queueCapacity());
+
+        this.thread = new Thread(this::run, "game-parties-event-exporter");
+        this.thread.setDaemon(true);
+    }
+
+    public static void register(PartyConfig.ExportConfig config) {
+        if (!config.enabled()) {
+            return;
+        }
+
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            var directory = FabricLoader.getInstance().getGameDir().resolve(config.directory());
+            PartyManager.get(server).setEventExporter(start(config, directory));
+        });
+
+        ServerLifecycleEvents.SERVER_STOPPED.register(server -> {
+            var partyManager = PartyManager.get(server);
+
+            var exporter = partyManager.getEventExporter();
+            if (exporter != null) {
+                partyManager.setEventExporter(null);
+                exporter.close();
+            }
+        });
+    }
+
+    static PartyEventExporter start(PartyConfig.ExportConfig config, Path directory) {
+        var exporter = new PartyEventExporter(config, directory);
+        exporter.thread.start();
+        return exporter;
+    }
+
+    /**
+     * Queues an event to be written, dropping it if the writer is too far behind.
+     */
+    public void submit(PartyEvent event) {
+        if (!this.queue.offer(event)) {
+            this.droppedEvents.incrementAndGet();
+        }
+    }
+
+    public long getDroppedEvents() {
+        return this.droppedEvents.get();
+    }
+
+    void close() {
+        this.running = false;
+
+        try {
+            this.thread.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        long dropped = this.droppedEvents.get();
+        if (dropped > 0) {
+            LOGGER.warn("Dropped {} party events because the exporter could not keep up", dropped);
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<PartyEvent>(BATCH_SIZE);
+
+        try {
+            Files.createDirectories(this.directory);
+
+            while (this.running || !this.queue.isEmpty()) {
+                var event = this.queue.poll(1, TimeUnit.SECONDS);
+                if (event == null) {
+                    continue;
+                }
+
+                batch.add(event);
+                this.queue.drainTo(batch, BATCH_SIZE - 1);
+
+                for (var batchEvent : batch) {
+                    this.write(batchEvent);
+                }
+                batch.clear();
+
+                if (this.queue.isEmpty()) {
+                    this.writer.flush();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            LOGGER.error("Failed to export party events to {}", this.directory, e);
+        } finally {
+            this.closeWriter();
+        }
+    }
+
+    private void write(PartyEvent event) throws IOException {
+        var line = toJson(event);
+        long lineBytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+
+        if (this.writer == null || this.fileBytes + lineBytes > this.config.maxFileBytes()) {
+            this.rotate();
+        }
+
+        this.writer.write(line);
+        this.writer.write('\n');
+        this.fileBytes += lineBytes;
+    }
+
+    private void rotate() throws IOException {
+        this.closeWriter();
+
+        long time = System.currentTimeMillis();
+        var path = this.directory.resolve(FILE_PREFIX + time + FILE_SUFFIX);
+        while (Files.exists(path)) {
+            path = this.directory.resolve(FILE_PREFIX + ++time + FILE_SUFFIX);
+        }
+
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        this.fileBytes = 0;
+
+        this.deleteOldFiles();
+    }
+
+    private void deleteOldFiles() throws IOException {
+        var files = new ArrayList<Path>();
+        try (var stream = Files.newDirectoryStream(this.directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+
+        if (files.size() <= this.config.maxFiles()) {
+            return;
+        }
+
+        // file names embed the creation time, so they sort from oldest to newest
+        files.sort(null);
+        for (int i = 0; i < files.size() - this.config.maxFiles(); i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    private void closeWriter() {
+        if (this.writer != null) {
+            try {
+                this.writer.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close party event export file", e);
+            }
+            this.writer = null;
+        }
+    }
+
+    private static String toJson(PartyEvent event) throws IOException {
+        var string = new StringWriter();
+
+        try (var json = new JsonWriter(string)) {
+            json.beginObject();
+            json.name("time").value(event.time());
+            json.name("type").value(event.type().getName());
+            json.name("party").value(event.party().toString());
+            if (event.player() != null) {
+                json.name("player").value(event.player().toString());
+            }
+            json.name("size").value(event.size());
+            if (event.target() != null) {
+                json.name("target").value(event.target().toString());
+            }
+            if (event.game() != null) {
+                json.name("game").value(event.game());
+            }
+            json.endObject();
+        }
+
+        return string.toString();
+    }
+}
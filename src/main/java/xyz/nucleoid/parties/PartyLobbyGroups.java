@@ -0,0 +1,121 @@
+package xyz.nucleoid.parties;
+
+import com.mojang.serialization.Codec;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.util.StringIdentifiable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Prepares the groups of players that are handed to a game's team allocator. Players are grouped by party, any party
+ * larger than the configured group size is broken up according to the {@link OversizedPolicy}, and the groups are
+ * ordered largest first, so that the allocator places the hardest groups while every team still has room. Placing the
+ * groups onto teams is left to the allocator, which knows how many teams the game has and how large they may be.
+ */
+public final class PartyLobbyGroups {
+    /**
+     * Groups the given players by the party returned for each of them, keeping the order in which each group is
+     * first seen. Players for which the lookup returns null each form their own group.
+     */
+    public static <T, P> List<List<T>> groupByParty(Collection<T> players, Function<T, P> partyLookup) {
+        var groups = new ArrayList<List<T>>();
+        var partyGroups = new Object2ObjectOpenHashMap<P, List<T>>();
+
+        for (var player : players) {
+            var party = partyLookup.apply(player);
+            if (party != null) {
+                var group = partyGroups.get(party);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    partyGroups.put(party, group);
+                    groups.add(group);
+                }
+                group.add(player);
+            } else {
+                groups.add(List.of(player));
+            }
+        }
+
+        return groups;
+    }
+
+    /**
+     * Breaks up every group larger than the given size according to the policy, returning the groups in a new list.
+     */
+    public static <T> List<List<T>> splitOversized(List<List<T>> groups, int maxGroupSize, OversizedPolicy policy) {
+        var result = new ArrayList<List<T>>(groups.size());
+        for (var group : groups) {
+            if (group.size() > maxGroupSize) {
+                policy.split(group, maxGroupSize, result);
+            } else if (!group.isEmpty()) {
+                result.add(group);
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Sorts the given groups by size, largest first, keeping the order of groups of the same size.
+     */
+    public static <T> void sortLargestFirst(List<List<T>> groups) {
+        groups.sort(Comparator.comparingInt(List<T>::size).reversed());
+    }
+
+    /**
+     * Controls how a party that is larger than the configured group size is handled.
+     */
+    public enum OversizedPolicy implements StringIdentifiable {
+        /**
+         * Keep the party together, even though its team may end up larger than the others.
+         */
+        KEEP {
+            @Override
+            <T> void split(List<T> group, int maxGroupSize, List<List<T>> into) {
+                into.add(group);
+            }
+        },
+        /**
+         * Split the party into as few evenly-sized parts as fit within the group size.
+         */
+        SPLIT {
+            @Override
+            <T> void split(List<T> group, int maxGroupSize, List<List<T>> into) {
+                int parts = (group.size() + maxGroupSize - 1) / maxGroupSize;
+                int start = 0;
+                for (int i = 0; i < parts; i++) {
+                    int end = start + (group.size() - start) / (parts - i);
+                    into.add(group.subList(start, end));
+                    start = end;
+                }
+            }
+        },
+        /**
+         * Break the party up entirely, allocating each of its players individually.
+         */
+        DISSOLVE {
+            @Override
+            <T> void split(List<T> group, int maxGroupSize, List<List<T>> into) {
+                for (var player : group) {
+                    into.add(List.of(player));
+                }
+            }
+        };
+
+        public static final Codec<OversizedPolicy> CODEC = StringIdentifiable.createCodec(OversizedPolicy::values);
+
+        private final String name = this.name().toLowerCase(Locale.ROOT);
+
+        abstract <T> void split(List<T> group, int maxGroupSize, List<List<T>> into);
+
+        @Override
+        public String asString() {
+            return this.name;
+        }
+    }
+}
@@ -1,43 +1,91 @@
 package xyz.nucleoid.parties;
 
 import com.google.common.collect.Lists;
+import com.mojang.authlib.GameProfile;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMaps;
 import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
 import net.minecraft.util.Formatting;
 import org.jetbrains.annotations.Nullable;
 import xyz.nucleoid.plasmid.api.event.GameEvents;
 import xyz.nucleoid.plasmid.api.game.GameSpaceManager;
 import xyz.nucleoid.plasmid.api.util.PlayerRef;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.UUID;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 public final class PartyManager {
-    private static PartyManager instance;
+    private static final long OFFLINE_INVITE_EXPIRY_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static volatile PartyManager instance;
 
     private final MinecraftServer server;
     private final Object2ObjectMap<PlayerRef, Party> playerToParty = new Object2ObjectOpenHashMap<>();
+    private final Object2ObjectMap<PlayerRef, ObjectSet<Party>> playerToInvites = new Object2ObjectOpenHashMap<>();
+    private final Object2LongMap<PlayerRef> inviteesOfflineSince = new Object2LongOpenHashMap<>();
+
+    private final ObjectSet<Party> dirtyParties = new ObjectOpenHashSet<>();
+    private final PartySidebars sidebars;
+    private final PartySweeper sweeper = new PartySweeper();
+    private final PartyNotifications notifications;
+
+    private volatile long version;
+
+    @Nullable
+    private volatile PartyEventExporter eventExporter;
 
     private PartyManager(MinecraftServer server) {
         this.server = server;
+        this.sidebars = new PartySidebars(server);
+        this.notifications = new PartyNotifications(server);
     }
 
-    public static void register() {
+    public static void register(PartyConfig config) {
         ServerPlayConnectionEvents.JOIN.register((handler, sender, server) -> {
             var partyManager = PartyManager.get(server);
             partyManager.onPlayerJoin(handler.player);
         });
 
         ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> {
+            onDisconnect(server, PlayerRef.of(handler.player), handler.player.getDisplayName());
+        });
+
+        ServerTickEvents.END_SERVER_TICK.register(server -> {
             var partyManager = PartyManager.get(server);
-            partyManager.onPlayerLogOut(handler.player);
+            partyManager.tick();
+        });
+
+        GameEvents.PLAYER_JOIN.register((gameSpace, player) -> {
+            var partyManager = PartyManager.get(player.server);
+            partyManager.markPartyDirty(PlayerRef.of(player));
+        });
+
+        GameEvents.PLAYER_LEFT.register((gameSpace, player) -> {
+            var partyManager = PartyManager.get(player.server);
+            var ref = PlayerRef.of(player);
+
+            // the game may have replaced or removed the sidebar, so it needs to be shown again from scratch
+            partyManager.sidebars.invalidate(ref);
+            partyManager.markPartyDirty(ref);
         });
 
         GameEvents.COLLECT_PLAYERS_FOR_JOIN.register((gameSpace, player, additional) -> {
@@ -46,6 +94,12 @@ public final class PartyManager {
 
             var members = partyManager.getPartyMembers(player, true);
 
+            var party = partyManager.getOwnParty(PlayerRef.of(player));
+            if (party != null) {
+                var game = gameSpace.getMetadata().sourceConfig().getIdAsString();
+                partyManager.exportEvent(PartyEvent.Type.GAME_JOINED, party, PlayerRef.of(player), game);
+            }
+
             for (var member : members) {
                 if (!gameSpaceManager.inGame(member)) {
                     additional.add(member);
@@ -56,6 +110,17 @@ public final class PartyManager {
         GameEvents.TEAM_SELECTION_LOBBY_FINALIZE.register((gameSpace, allocator, players) -> {
             var partyManager = PartyManager.get(gameSpace.getServer());
 
+            var grouping = config.grouping();
+            if (grouping.enabled()) {
+                var groups = PartyLobbyGroups.splitOversized(partyManager.getLobbyGroups(players), grouping.maxGroupSize(), grouping.oversizedPolicy());
+                PartyLobbyGroups.sortLargestFirst(groups);
+
+                for (var group : groups) {
+                    allocator.group(group);
+                }
+                return;
+            }
+
             var ungroupedPlayers = players.stream().collect(Collectors.toCollection(HashSet::new));
 
             for (ServerPlayerEntity player : players) {
@@ -70,29 +135,59 @@ public final class PartyManager {
     }
 
     public static PartyManager get(MinecraftServer server) {
-        if (instance == null || instance.server != server) {
-            instance = new PartyManager(server);
+        var partyManager = instance;
+        if (partyManager == null || partyManager.server != server) {
+            synchronized (PartyManager.class) {
+                partyManager = instance;
+                if (partyManager == null || partyManager.server != server) {
+                    partyManager = new PartyManager(server);
+                    instance = partyManager;
+                }
+            }
+        }
+        return partyManager;
+    }
+
+    static void onDisconnect(MinecraftServer server, PlayerRef ref, Text displayName) {
+        var partyManager = PartyManager.get(server);
+
+        // party state is confined to the server thread, but disconnects may be reported from elsewhere on shutdown
+        if (server.isOnThread()) {
+            partyManager.onPlayerLogOut(ref, displayName);
+        } else {
+            server.execute(() -> partyManager.onPlayerLogOut(ref, displayName));
         }
-        return instance;
     }
 
     public void onPlayerJoin(ServerPlayerEntity player) {
         var ref = PlayerRef.of(player);
 
-        for (var party : this.getAllParties()) {
-            if (party.isInvited(ref)) {
-                party.getOwner().ifOnline(this.server, owner -> {
-                    var notification = PartyTexts.invitedReceiver(owner, party.getUuid())
-                            .formatted(Formatting.GOLD);
+        this.inviteesOfflineSince.removeLong(ref);
 
-                    player.sendMessage(notification, false);
-                });
-            }
+        this.markPartyDirty(ref);
+        this.sidebars.onPlayerJoin(ref, this);
+
+        for (var party : this.getInvitedParties(ref)) {
+            party.getOwner().ifOnline(this.server, owner -> {
+                var notification = PartyTexts.invitedReceiver(owner, party.getUuid())
+                        .formatted(Formatting.GOLD);
+
+                PartyTextCache.send(player, notification);
+            });
         }
     }
 
     public void onPlayerLogOut(ServerPlayerEntity player) {
-        var ref = PlayerRef.of(player);
+        this.onPlayerLogOut(PlayerRef.of(player), player.getDisplayName());
+    }
+
+    void onPlayerLogOut(PlayerRef ref, Text displayName) {
+        this.sidebars.onPlayerLogOut(ref);
+
+        // pending invites are kept while the player is away, but only until they expire
+        if (this.playerToInvites.containsKey(ref)) {
+            this.inviteesOfflineSince.put(ref, System.currentTimeMillis());
+        }
 
         var party = this.playerToParty.remove(ref);
         if (party == null) {
@@ -100,31 +195,87 @@ public final class PartyManager {
         }
 
         if (party.remove(ref)) {
+            this.exportEvent(PartyEvent.Type.LEFT, party, ref);
+
             if (party.isOwner(ref)) {
-                this.onPartyOwnerLogOut(player, party);
+                this.onPartyOwnerLogOut(displayName, party);
             }
 
-            party.getMemberPlayers().sendMessage(PartyTexts.leftGame(player));
+            this.notifications.queue(party.getMemberPlayers(), PartyNotifications.Kind.LEFT_GAME, displayName);
         }
     }
 
-    private void onPartyOwnerLogOut(ServerPlayerEntity player, Party party) {
+    private void onPartyOwnerLogOut(Text ownerName, Party party) {
         var members = party.getMembers();
 
         if (!members.isEmpty()) {
             var nextMember = members.get(0);
             party.setOwner(nextMember);
+            this.exportEvent(PartyEvent.Type.TRANSFERRED, party, nextMember);
 
             nextMember.ifOnline(this.server, nextPlayer -> {
-                nextPlayer.sendMessage(PartyTexts.transferredReceiver(player), false);
+                PartyTextCache.send(nextPlayer, PartyTexts.transferredReceiver(ownerName));
             });
+        } else {
+            // the last member has left, so the party ends here, along with its pending invites
+            this.disbandParty(party);
+        }
+    }
+
+    void tick() {
+        this.notifications.flush();
+        this.sweeper.tick(this);
+
+        if (this.dirtyParties.isEmpty()) {
+            return;
         }
+
+        var dirtyParties = new ObjectArrayList<>(this.dirtyParties);
+        this.dirtyParties.clear();
+
+        this.sidebars.update(this, dirtyParties);
+    }
+
+    private void onPartyDirty(Party party) {
+        // the version changes on every mutation, while the party itself is only queued once per tick
+        this.dirtyParties.add(party);
+        this.version++;
+    }
+
+    /**
+     * Queues the party of the given player to have its sidebars rebuilt, such as when the player joins or leaves a
+     * game. Unlike a mutation of the party itself, this does not change the version, so status pollers are unaffected.
+     */
+    void markPartyDirty(PlayerRef player) {
+        var party = this.playerToParty.get(player);
+        if (party != null) {
+            this.dirtyParties.add(party);
+        }
+    }
+
+    /**
+     * Queues a notification to every current member of the given party. Notifications of the same kind queued within a
+     * tick are merged into a single message per recipient.
+     */
+    public void notifyMembers(Party party, PartyNotifications.Kind kind, Text player) {
+        this.notifications.queue(party.getMemberPlayers(), kind, player);
+    }
+
+    /**
+     * Toggles whether the given player is shown a sidebar listing the members of their party.
+     *
+     * @return whether the sidebar is now enabled
+     */
+    public boolean toggleSidebar(PlayerRef player) {
+        return this.sidebars.toggle(player, this);
     }
 
     public PartyResult invitePlayer(PlayerRef owner, PlayerRef player) {
         var party = this.getOrCreateOwnParty(owner);
         if (party != null) {
             if (party.invite(player)) {
+                this.addInvite(player, party);
+                this.exportEvent(PartyEvent.Type.INVITED, party, player);
                 return PartyResult.ok(party);
             } else {
                 return PartyResult.err(PartyError.ALREADY_INVITED);
@@ -146,6 +297,8 @@ public final class PartyManager {
 
         if (party.remove(player)) {
             this.playerToParty.remove(player, party);
+            this.removeInvite(player, party);
+            this.exportEvent(PartyEvent.Type.KICKED, party, player);
             return PartyResult.ok(party);
         }
 
@@ -163,6 +316,8 @@ public final class PartyManager {
 
         if (party.acceptInvite(player)) {
             this.playerToParty.put(player, party);
+            this.removeInvite(player, party);
+            this.exportEvent(PartyEvent.Type.ACCEPTED, party, player);
             return PartyResult.ok(party);
         }
 
@@ -184,6 +339,7 @@ public final class PartyManager {
 
         if (party.remove(player)) {
             this.playerToParty.remove(player, party);
+            this.exportEvent(PartyEvent.Type.LEFT, party, player);
             return PartyResult.ok(party);
         } else {
             return PartyResult.err(PartyError.NOT_IN_PARTY);
@@ -201,6 +357,7 @@ public final class PartyManager {
         }
 
         party.setOwner(to);
+        this.exportEvent(PartyEvent.Type.TRANSFERRED, party, to);
         return PartyResult.ok(party);
     }
 
@@ -218,6 +375,281 @@ public final class PartyManager {
         for (PlayerRef member : party.getMembers()) {
             this.playerToParty.remove(member, party);
         }
+
+        this.clearInvites(party);
+
+        party.markDirty();
+        this.exportEvent(PartyEvent.Type.DISBANDED, party, null);
+    }
+
+    /**
+     * Reclaims the given party if its owner is no longer tracked as being in it, while other members still are. Parties
+     * which no member is mapped to anymore have already been disbanded, possibly since the sweep queued them, and are
+     * left alone.
+     *
+     * @return whether the party was reclaimed
+     */
+    boolean reclaimIfOrphaned(Party party) {
+        var owner = party.getOwner();
+        if (party.contains(owner) && this.playerToParty.get(owner) == party) {
+            return false;
+        }
+
+        if (!this.hasMappedMember(party)) {
+            return false;
+        }
+
+        this.disbandParty(party);
+        party.clear();
+
+        return true;
+    }
+
+    private boolean hasMappedMember(Party party) {
+        for (var member : party.getMembers()) {
+            if (this.playerToParty.get(member) == party) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes pending invites of the given party which have expired because the invited player has been offline for
+     * too long, which are no longer tracked by the invite index, or which are for players that have since joined the
+     * party.
+     *
+     * @return the number of invites removed
+     */
+    int reclaimDanglingInvites(Party party) {
+        long expiredBefore = System.currentTimeMillis() - OFFLINE_INVITE_EXPIRY_MILLIS;
+
+        return party.removePendingMembersIf(player -> {
+            var invites = this.playerToInvites.get(player);
+            long offlineSince = this.inviteesOfflineSince.getOrDefault(player, Long.MAX_VALUE);
+            if (offlineSince < expiredBefore || party.contains(player) || invites == null || !invites.contains(party)) {
+                this.removeInvite(player, party);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Returns every party still referenced by a member or by a pending invite, including orphaned parties which are
+     * yet to be reclaimed.
+     */
+    Collection<Party> getKnownParties() {
+        var parties = new ObjectOpenHashSet<>(this.playerToParty.values());
+        for (var invites : this.playerToInvites.values()) {
+            parties.addAll(invites);
+        }
+        return parties;
+    }
+
+    @Nullable
+    public PartyEventExporter getEventExporter() {
+        return this.eventExporter;
+    }
+
+    void setEventExporter(@Nullable PartyEventExporter eventExporter) {
+        this.eventExporter = eventExporter;
+    }
+
+    /**
+     * Returns the number of events which the exporter had to drop, or 0 if exporting is disabled. Like
+     * {@link #getVersion()}, this may be read from any thread.
+     */
+    public long getDroppedEvents() {
+        var exporter = this.eventExporter;
+        return exporter != null ? exporter.getDroppedEvents() : 0;
+    }
+
+    private void exportEvent(PartyEvent.Type type, Party party, @Nullable PlayerRef player) {
+        this.exportEvent(type, party, player, null);
+    }
+
+    private void exportEvent(PartyEvent.Type type, Party party, @Nullable PlayerRef player, @Nullable String game) {
+        this.exportEvent(type, party, player, game, null);
+    }
+
+    private void exportEvent(PartyEvent.Type type, Party party, @Nullable PlayerRef player, @Nullable String game, @Nullable Party target) {
+        var exporter = this.eventExporter;
+        if (exporter != null) {
+            var playerId = player != null ? player.id() : null;
+            var targetId = target != null ? target.getUuid() : null;
+            exporter.submit(new PartyEvent(type, System.currentTimeMillis(), party.getUuid(), playerId, party.getMembers().size(), game, targetId));
+        }
+    }
+
+    public PartySweeper getSweeper() {
+        return this.sweeper;
+    }
+
+    /**
+     * Checks that the party registry is internally consistent, such as every party member being mapped back to their
+     * party and every pending invite being tracked by the invite index. This must be called on the server thread.
+     *
+     * @return a description of each inconsistency found, or an empty list if the registry is consistent
+     */
+    public List<String> verifyIntegrity() {
+        var violations = new ArrayList<String>();
+
+        for (var entry : Object2ObjectMaps.fastIterable(this.playerToParty)) {
+            var player = entry.getKey();
+            var party = entry.getValue();
+            if (!party.contains(player)) {
+                violations.add(player.id() + " is mapped to party " + party.getUuid() + " but is not a member");
+            }
+        }
+
+        for (var party : this.getKnownParties()) {
+            if (party.getMembers().size() != party.getMemberPlayers().size()) {
+                violations.add("party " + party.getUuid() + " has mismatched member list and member set");
+            }
+
+            // a party left without members is awaiting the sweeper, but any remaining member must still be mapped to it
+            for (var member : party.getMembers()) {
+                if (this.playerToParty.get(member) != party) {
+                    violations.add(member.id() + " is a member of party " + party.getUuid() + " but is not mapped to it");
+                }
+            }
+
+            for (var pending : party.getPendingMembers()) {
+                if (!this.getInvitedParties(pending).contains(party)) {
+                    violations.add(pending.id() + " is invited to party " + party.getUuid() + " but is not indexed");
+                }
+            }
+        }
+
+        for (var entry : Object2ObjectMaps.fastIterable(this.playerToInvites)) {
+            for (var party : entry.getValue()) {
+                if (!party.isInvited(entry.getKey())) {
+                    violations.add(entry.getKey().id() + " is indexed as invited to party " + party.getUuid() + " but is not invited");
+                }
+            }
+        }
+
+        for (var player : this.inviteesOfflineSince.keySet()) {
+            if (!this.playerToInvites.containsKey(player)) {
+                violations.add(player.id() + " is tracked as an offline invitee but has no pending invites");
+            }
+        }
+
+        return violations;
+    }
+
+    /**
+     * Returns a counter which changes whenever any party changes. Unlike the rest of this class, this may be read from
+     * any thread.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Copies the current state of all parties into an immutable snapshot, sorted by party UUID. This must be called on
+     * the server thread.
+     */
+    public PartySnapshot createSnapshot() {
+        var parties = new ArrayList<>(this.getAllParties());
+        parties.sort(Comparator.comparing(Party::getUuid));
+
+        var entries = new ArrayList<PartySnapshot.PartyEntry>(parties.size());
+        int members = 0;
+        int pendingInvites = 0;
+
+        for (var party : parties) {
+            var memberEntries = new ArrayList<PartySnapshot.Member>(party.getMembers().size());
+            for (var member : party.getMembers()) {
+                memberEntries.add(this.createSnapshotMember(member));
+            }
+
+            var pendingEntries = new ArrayList<PartySnapshot.Member>(party.getPendingMembers().size());
+            for (var pending : party.getPendingMembers()) {
+                pendingEntries.add(this.createSnapshotMember(pending));
+            }
+
+            entries.add(new PartySnapshot.PartyEntry(
+                    party.getUuid(),
+                    this.createSnapshotMember(party.getOwner()),
+                    List.copyOf(memberEntries),
+                    List.copyOf(pendingEntries)
+            ));
+
+            members += memberEntries.size();
+            pendingInvites += pendingEntries.size();
+        }
+
+        return new PartySnapshot(
+                this.version,
+                List.copyOf(entries),
+                members, pendingInvites,
+                this.sweeper.getReclaimedParties(), this.sweeper.getReclaimedInvites(),
+                this.verifyIntegrity().size(),
+                this.getDroppedEvents()
+        );
+    }
+
+    private PartySnapshot.Member createSnapshotMember(PlayerRef player) {
+        return new PartySnapshot.Member(player.id(), this.getPlayerName(player));
+    }
+
+    /**
+     * Merges two parties by moving the members and pending invites of the smaller party into the larger one, so the
+     * cost is proportional to the size of the smaller party.
+     *
+     * @return the party which the other party was merged into
+     */
+    public PartyResult mergeParties(@Nullable Party first, @Nullable Party second) {
+        if (first == null || second == null) {
+            return PartyResult.err(PartyError.DOES_NOT_EXIST);
+        }
+
+        if (first == second) {
+            return PartyResult.err(PartyError.ALREADY_IN_PARTY);
+        }
+
+        var target = first;
+        var source = second;
+        if (source.getMembers().size() > target.getMembers().size()) {
+            target = second;
+            source = first;
+        }
+
+        for (var member : source.getMembers()) {
+            target.add(member);
+            this.playerToParty.put(member, target);
+
+            if (target.cancelInvite(member)) {
+                this.removeInvite(member, target);
+            }
+        }
+
+        var movedInvites = new ArrayList<PlayerRef>();
+        for (var pending : source.getPendingMembers()) {
+            this.removeInvite(pending, source);
+            if (target.invite(pending)) {
+                this.addInvite(pending, target);
+                movedInvites.add(pending);
+            }
+        }
+
+        this.exportEvent(PartyEvent.Type.MERGED, source, null, null, target);
+        source.clear();
+
+        // the invites these players were sent link to the party which no longer exists, so they need fresh ones
+        var party = target;
+        party.getOwner().ifOnline(this.server, owner -> {
+            var notification = PartyTexts.invitedReceiver(owner, party.getUuid())
+                    .formatted(Formatting.GOLD);
+
+            for (var invitee : movedInvites) {
+                invitee.ifOnline(this.server, player -> PartyTextCache.send(player, notification));
+            }
+        });
+
+        return PartyResult.ok(target);
     }
 
     public PartyResult addPlayer(PlayerRef player, @Nullable Party party) {
@@ -229,10 +661,10 @@ public final class PartyManager {
         if (party == oldParty) {
             return PartyResult.err(PartyError.ALREADY_IN_PARTY);
         } else if (oldParty != null) {
-            if (party.isOwner(player)) {
+            if (oldParty.isOwner(player)) {
                 this.disbandParty(player);
-            } else if (party.remove(player)) {
-                this.playerToParty.remove(player, party);
+            } else if (oldParty.remove(player)) {
+                this.playerToParty.remove(player, oldParty);
             }
         }
 
@@ -240,6 +672,8 @@ public final class PartyManager {
         if (!party.acceptInvite(player)) {
             party.add(player);
         }
+        this.removeInvite(player, party);
+        this.exportEvent(PartyEvent.Type.ACCEPTED, party, player);
 
         return PartyResult.ok(party);
     }
@@ -254,6 +688,7 @@ public final class PartyManager {
             this.disbandParty(player);
         } else if (party.remove(player)) {
             this.playerToParty.remove(player, party);
+            this.exportEvent(PartyEvent.Type.LEFT, party, player);
         }
 
         return PartyResult.ok(party);
@@ -275,6 +710,39 @@ public final class PartyManager {
         return null;
     }
 
+    /**
+     * Returns the parties that have a pending invite for the given player. This is backed by an index which is kept
+     * up-to-date as invites are sent and resolved, so it is cheap enough to query for command suggestions.
+     */
+    public Collection<Party> getInvitedParties(PlayerRef player) {
+        var parties = this.playerToInvites.get(player);
+        return parties != null ? parties : Collections.emptySet();
+    }
+
+    private void clearInvites(Party party) {
+        for (PlayerRef pending : party.getPendingMembers()) {
+            this.removeInvite(pending, party);
+        }
+        party.clearPendingMembers();
+    }
+
+    private void addInvite(PlayerRef player, Party party) {
+        this.playerToInvites.computeIfAbsent(player, p -> new ObjectOpenHashSet<>()).add(party);
+
+        // invites can be moved onto players who are already offline, such as when parties are merged
+        if (player.getEntity(this.server) == null) {
+            this.inviteesOfflineSince.putIfAbsent(player, System.currentTimeMillis());
+        }
+    }
+
+    private void removeInvite(PlayerRef player, Party party) {
+        var parties = this.playerToInvites.get(player);
+        if (parties != null && parties.remove(party) && parties.isEmpty()) {
+            this.playerToInvites.remove(player);
+            this.inviteesOfflineSince.removeLong(player);
+        }
+    }
+
     @Nullable
     public Party getOwnParty(PlayerRef owner) {
         var party = this.playerToParty.get(owner);
@@ -294,7 +762,78 @@ public final class PartyManager {
     }
 
     private Party createParty(PlayerRef owner) {
-        return new Party(this.server, owner);
+        var party = new Party(this.server, owner, this::onPartyDirty);
+        this.exportEvent(PartyEvent.Type.CREATED, party, owner);
+        return party;
+    }
+
+    /**
+     * Resolves a player by name against the members and pending invites of the given party. Offline players are only
+     * matched through profiles already held by the user cache, so this never performs a profile lookup.
+     */
+    @Nullable
+    public PlayerRef findInParty(Party party, String name) {
+        for (var member : party.getMembers()) {
+            if (name.equalsIgnoreCase(this.getPlayerName(member))) {
+                return member;
+            }
+        }
+
+        for (var pending : party.getPendingMembers()) {
+            if (name.equalsIgnoreCase(this.getPlayerName(pending))) {
+                return pending;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Resolves a player by name against online players and the members of every party, without any profile lookups.
+     */
+    @Nullable
+    public PlayerRef findInAnyParty(String name) {
+        var player = this.server.getPlayerManager().getPlayer(name);
+        if (player != null) {
+            return PlayerRef.of(player);
+        }
+
+        for (var member : this.playerToParty.keySet()) {
+            if (name.equalsIgnoreCase(this.getPlayerName(member))) {
+                return member;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Looks up a player by name through the user cache off the server thread. The returned future completes on the
+     * server thread, so party state may be safely mutated from its callbacks.
+     */
+    public CompletableFuture<Optional<PlayerRef>> lookupPlayer(String name) {
+        var userCache = this.server.getUserCache();
+        if (userCache == null) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        return userCache.findByNameAsync(name)
+                .thenApplyAsync(profile -> profile.map(PlayerRef::of), this.server);
+    }
+
+    @Nullable
+    String getPlayerName(PlayerRef ref) {
+        var player = ref.getEntity(this.server);
+        if (player != null) {
+            return player.getGameProfile().getName();
+        }
+
+        var userCache = this.server.getUserCache();
+        if (userCache != null) {
+            return userCache.getByUuid(ref.id()).map(GameProfile::getName).orElse(null);
+        }
+
+        return null;
     }
 
     public Collection<ServerPlayerEntity> getPartyMembers(ServerPlayerEntity player, boolean own) {
@@ -308,6 +847,14 @@ public final class PartyManager {
         }
     }
 
+    /**
+     * Groups the given lobby players by party, including only party members who are themselves in the lobby. Players
+     * without a party are each returned in their own group.
+     */
+    List<List<ServerPlayerEntity>> getLobbyGroups(Collection<ServerPlayerEntity> players) {
+        return PartyLobbyGroups.groupByParty(players, player -> this.getParty(PlayerRef.of(player)));
+    }
+
     public Collection<Party> getAllParties() {
         return new HashSet<>(this.playerToParty.values());
     }
@@ -0,0 +1,100 @@
+package xyz.nucleoid.parties;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.api.util.PlayerRef;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+
+/**
+ * Queues party notifications and merges those of the same kind for each recipient, so that a burst of changes within
+ * a tick results in a single digest message per recipient rather than one message per change.
+ */
+public final class PartyNotifications {
+    private static final int NAMED_PLAYERS = 3;
+
+    private final MinecraftServer server;
+    private final Object2ObjectMap<PlayerRef, EnumMap<Kind, Digest>> pending = new Object2ObjectOpenHashMap<>();
+
+    PartyNotifications(MinecraftServer server) {
+        this.server = server;
+    }
+
+    void queue(Iterable<ServerPlayerEntity> recipients, Kind kind, Text player) {
+        for (var recipient : recipients) {
+            var digests = this.pending.computeIfAbsent(PlayerRef.of(recipient), ref -> new EnumMap<>(Kind.class));
+            digests.computeIfAbsent(kind, k -> new Digest()).add(player);
+        }
+    }
+
+    void flush() {
+        if (this.pending.isEmpty()) {
+            return;
+        }
+
+        for (var entry : Object2ObjectMaps.fastIterable(this.pending)) {
+            var recipient = entry.getKey().getEntity(this.server);
+            if (recipient == null) {
+                continue;
+            }
+
+            for (var digest : entry.getValue().entrySet()) {
+                var kind = digest.getKey();
+
+                var message = digest.getValue().toText(kind);
+                if (kind.formatting != null) {
+                    message.formatted(kind.formatting);
+                }
+
+                PartyTextCache.send(recipient, message);
+            }
+        }
+
+        this.pending.clear();
+    }
+
+    public enum Kind {
+        JOINED("text.game_parties.party.join.success", Formatting.GOLD),
+        LEFT_GAME("text.game_parties.party.left_game", null);
+
+        private final String key;
+        @Nullable
+        private final Formatting formatting;
+
+        Kind(String key, @Nullable Formatting formatting) {
+            this.key = key;
+            this.formatting = formatting;
+        }
+    }
+
+    private static final class Digest {
+        private final List<Text> names = new ArrayList<>(NAMED_PLAYERS);
+        private int count;
+
+        void add(Text name) {
+            if (this.names.size() < NAMED_PLAYERS) {
+                this.names.add(name);
+            }
+            this.count++;
+        }
+
+        MutableText toText(Kind kind) {
+            // a third player is named rather than counted, so that "others" always refers to more than one player
+            return switch (this.count) {
+                case 1 -> PartyTexts.digestOne(kind.key, this.names.get(0));
+                case 2 -> PartyTexts.digestTwo(kind.key, this.names.get(0), this.names.get(1));
+                case 3 -> PartyTexts.digestThree(kind.key, this.names.get(0), this.names.get(1), this.names.get(2));
+                default -> PartyTexts.digestMany(kind.key, this.names.get(0), this.names.get(1), this.count - 2);
+            };
+        }
+    }
+}
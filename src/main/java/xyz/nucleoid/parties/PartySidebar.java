@@ -0,0 +1,106 @@
+package xyz.nucleoid.parties;
+
+import net.minecraft.network.packet.s2c.play.ScoreboardDisplayS2CPacket;
+import net.minecraft.network.packet.s2c.play.ScoreboardObjectiveUpdateS2CPacket;
+import net.minecraft.network.packet.s2c.play.ScoreboardScoreResetS2CPacket;
+import net.minecraft.network.packet.s2c.play.ScoreboardScoreUpdateS2CPacket;
+import net.minecraft.scoreboard.Scoreboard;
+import net.minecraft.scoreboard.ScoreboardCriterion;
+import net.minecraft.scoreboard.ScoreboardDisplaySlot;
+import net.minecraft.scoreboard.ScoreboardObjective;
+import net.minecraft.scoreboard.number.BlankNumberFormat;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.Text;
+import org.jetbrains.annotations.Nullable;
+import xyz.nucleoid.plasmid.api.util.PlayerRef;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The client-side sidebar state of a single viewer. The lines last sent to the client are remembered so that an update
+ * only sends the lines which actually changed.
+ */
+final class PartySidebar {
+    static final int MAX_LINES = 15;
+
+    private static final String OBJECTIVE_NAME = "game_parties";
+
+    private static final ScoreboardObjective OBJECTIVE = new ScoreboardObjective(
+            new Scoreboard(), OBJECTIVE_NAME,
+            ScoreboardCriterion.DUMMY, PartyTexts.sidebarTitle(),
+            ScoreboardCriterion.RenderType.INTEGER, false,
+            BlankNumberFormat.INSTANCE
+    );
+
+    private final PlayerRef viewer;
+    private final List<Text> lines = new ArrayList<>();
+    private boolean shown;
+
+    @Nullable
+    Party party;
+
+    PartySidebar(PlayerRef viewer) {
+        this.viewer = viewer;
+    }
+
+    PlayerRef getViewer() {
+        return this.viewer;
+    }
+
+    void update(ServerPlayerEntity player, List<Text> lines) {
+        var networkHandler = player.networkHandler;
+
+        if (!this.shown) {
+            // the client may still hold our objective from before it was invalidated, and adding it twice is an error
+            networkHandler.sendPacket(new ScoreboardObjectiveUpdateS2CPacket(OBJECTIVE, ScoreboardObjectiveUpdateS2CPacket.REMOVE_MODE));
+            networkHandler.sendPacket(new ScoreboardObjectiveUpdateS2CPacket(OBJECTIVE, ScoreboardObjectiveUpdateS2CPacket.ADD_MODE));
+            networkHandler.sendPacket(new ScoreboardDisplayS2CPacket(ScoreboardDisplaySlot.SIDEBAR, OBJECTIVE));
+            this.shown = true;
+        }
+
+        int count = Math.min(lines.size(), MAX_LINES);
+
+        for (int i = 0; i < count; i++) {
+            var line = lines.get(i);
+
+            if (i >= this.lines.size()) {
+                this.lines.add(line);
+            } else if (!this.lines.get(i).equals(line)) {
+                this.lines.set(i, line);
+            } else {
+                continue;
+            }
+
+            // all lines share a score, so the client orders them by holder name
+            networkHandler.sendPacket(new ScoreboardScoreUpdateS2CPacket(holderName(i), OBJECTIVE_NAME, 0, Optional.of(line), Optional.empty()));
+        }
+
+        for (int i = this.lines.size() - 1; i >= count; i--) {
+            networkHandler.sendPacket(new ScoreboardScoreResetS2CPacket(holderName(i), OBJECTIVE_NAME));
+            this.lines.remove(i);
+        }
+    }
+
+    void hide(ServerPlayerEntity player) {
+        if (this.shown) {
+            player.networkHandler.sendPacket(new ScoreboardObjectiveUpdateS2CPacket(OBJECTIVE, ScoreboardObjectiveUpdateS2CPacket.REMOVE_MODE));
+            this.lines.clear();
+            this.shown = false;
+        }
+    }
+
+    /**
+     * Forgets what the client was last sent, so that the next update re-creates the objective, claims the sidebar slot
+     * and re-sends every line. This is needed once a game may have replaced the sidebar on the client.
+     */
+    void invalidate() {
+        this.lines.clear();
+        this.shown = false;
+    }
+
+    private static String holderName(int line) {
+        return line < 10 ? "#0" + line : "#" + line;
+    }
+}
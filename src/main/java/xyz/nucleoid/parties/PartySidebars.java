@@ -0,0 +1,174 @@
+package xyz.nucleoid.parties;
+
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ObjectSet;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+import xyz.nucleoid.plasmid.api.game.GameSpaceManager;
+import xyz.nucleoid.plasmid.api.game.config.GameConfig;
+import xyz.nucleoid.plasmid.api.util.PlayerRef;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tracks the players that opted into the party sidebar and keeps their sidebars in sync with their party. Updates are
+ * driven by parties being marked dirty, so nothing is rebuilt or sent while parties are not changing.
+ */
+final class PartySidebars {
+    private final MinecraftServer server;
+
+    private final ObjectSet<PlayerRef> enabled = new ObjectOpenHashSet<>();
+    private final Object2ObjectMap<PlayerRef, PartySidebar> sidebars = new Object2ObjectOpenHashMap<>();
+    private final Object2ObjectMap<Party, ObjectSet<PartySidebar>> partyToSidebars = new Object2ObjectOpenHashMap<>();
+
+    PartySidebars(MinecraftServer server) {
+        this.server = server;
+    }
+
+    boolean toggle(PlayerRef player, PartyManager partyManager) {
+        if (this.enabled.remove(player)) {
+            var sidebar = this.sidebars.remove(player);
+            if (sidebar != null) {
+                this.unbind(sidebar);
+                player.ifOnline(this.server, sidebar::hide);
+            }
+            return false;
+        }
+
+        this.enabled.add(player);
+        this.onPlayerJoin(player, partyManager);
+        return true;
+    }
+
+    void onPlayerJoin(PlayerRef player, PartyManager partyManager) {
+        if (this.enabled.contains(player) && !this.sidebars.containsKey(player)) {
+            var sidebar = new PartySidebar(player);
+            this.sidebars.put(player, sidebar);
+
+            partyManager.markPartyDirty(player);
+        }
+    }
+
+    void invalidate(PlayerRef player) {
+        var sidebar = this.sidebars.get(player);
+        if (sidebar != null) {
+            sidebar.invalidate();
+        }
+    }
+
+    void onPlayerLogOut(PlayerRef player) {
+        var sidebar = this.sidebars.remove(player);
+        if (sidebar != null) {
+            this.unbind(sidebar);
+        }
+    }
+
+    void update(PartyManager partyManager, Collection<Party> dirtyParties) {
+        if (this.sidebars.isEmpty()) {
+            return;
+        }
+
+        var affected = new ObjectOpenHashSet<PartySidebar>();
+        for (var party : dirtyParties) {
+            for (var member : party.getMembers()) {
+                var sidebar = this.sidebars.get(member);
+                if (sidebar != null) {
+                    affected.add(sidebar);
+                }
+            }
+
+            // players who left the party are no longer members, but still show its sidebar
+            var previous = this.partyToSidebars.get(party);
+            if (previous != null) {
+                affected.addAll(previous);
+            }
+        }
+
+        var lines = new Object2ObjectOpenHashMap<Party, List<Text>>();
+
+        for (var sidebar : affected) {
+            var player = sidebar.getViewer().getEntity(this.server);
+            if (player == null) {
+                continue;
+            }
+
+            var party = partyManager.getParty(sidebar.getViewer());
+            if (party != sidebar.party) {
+                this.unbind(sidebar);
+                if (party != null) {
+                    this.bind(sidebar, party);
+                }
+            }
+
+            // games own the sidebar slot while their players are in them
+            if (party != null && !GameSpaceManager.get().inGame(player)) {
+                sidebar.update(player, lines.computeIfAbsent(party, this::buildLines));
+            } else {
+                sidebar.hide(player);
+            }
+        }
+    }
+
+    private void bind(PartySidebar sidebar, Party party) {
+        sidebar.party = party;
+        this.partyToSidebars.computeIfAbsent(party, p -> new ObjectOpenHashSet<>()).add(sidebar);
+    }
+
+    private void unbind(PartySidebar sidebar) {
+        var party = sidebar.party;
+        if (party == null) {
+            return;
+        }
+
+        sidebar.party = null;
+
+        var sidebars = this.partyToSidebars.get(party);
+        if (sidebars != null && sidebars.remove(sidebar) && sidebars.isEmpty()) {
+            this.partyToSidebars.remove(party);
+        }
+    }
+
+    private List<Text> buildLines(Party party) {
+        var lines = new ArrayList<Text>(Math.min(party.getMembers().size(), PartySidebar.MAX_LINES));
+
+        var owner = party.getOwner();
+        if (party.contains(owner)) {
+            lines.add(this.buildLine(party, owner));
+        }
+
+        for (var member : party.getMembers()) {
+            if (lines.size() >= PartySidebar.MAX_LINES) {
+                break;
+            }
+
+            if (!party.isOwner(member)) {
+                lines.add(this.buildLine(party, member));
+            }
+        }
+
+        return lines;
+    }
+
+    private Text buildLine(Party party, PlayerRef member) {
+        var player = member.getEntity(this.server);
+        if (player == null) {
+            return PartyTexts.sidebarMemberOffline(member, this.server).formatted(Formatting.GRAY);
+        }
+
+        var name = Text.literal(player.getGameProfile().getName())
+                .formatted(party.isOwner(member) ? Formatting.GOLD : Formatting.WHITE);
+
+        var gameSpace = GameSpaceManager.get().byPlayer(player);
+        if (gameSpace == null) {
+            return name;
+        }
+
+        var game = GameConfig.name(gameSpace.getMetadata().sourceConfig());
+        return PartyTexts.sidebarMemberInGame(name, game).formatted(Formatting.WHITE);
+    }
+}
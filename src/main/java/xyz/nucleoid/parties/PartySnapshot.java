@@ -0,0 +1,17 @@
+package xyz.nucleoid.parties;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * An immutable copy of the party state at a given version, which can be safely read from outside the server thread.
+ */
+public record PartySnapshot(long version, List<PartyEntry> parties, int members, int pendingInvites, long reclaimedParties, long reclaimedInvites, int integrityViolations, long droppedEvents) {
+    public record PartyEntry(UUID uuid, Member owner, List<Member> members, List<Member> pending) {
+    }
+
+    public record Member(UUID id, @Nullable String name) {
+    }
+}
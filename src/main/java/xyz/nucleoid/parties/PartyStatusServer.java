@@ -0,0 +1,253 @@
+package xyz.nucleoid.parties;
+
+import com.google.gson.stream.JsonWriter;
+import com.mojang.logging.LogUtils;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.server.MinecraftServer;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Serves a read-only JSON view of the party state over HTTP on the loopback interface. Requests are handled on virtual
+ * threads, and read from a snapshot which is only rebuilt on the server thread when the party state has changed.
+ */
+public final class PartyStatusServer {
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final long SNAPSHOT_TIMEOUT_SECONDS = 5;
+
+    private static PartyStatusServer instance;
+
+    private final MinecraftServer server;
+    private final PartyManager partyManager;
+    private final HttpServer http;
+    private final ExecutorService executor;
+
+    private volatile PartySnapshot snapshot;
+
+    private PartyStatusServer(MinecraftServer server, HttpServer http, ExecutorService executor) {
+        this.server = server;
+        this.partyManager = PartyManager.get(server);
+        this.http = http;
+        this.executor = executor;
+    }
+
+    public static void register(PartyConfig.StatusConfig config) {
+        if (!config.enabled()) {
+            return;
+        }
+
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> {
+            try {
+                instance = start(server, config);
+            } catch (IOException e) {
+                LOGGER.error("Failed to start party status server on port {}", config.port(), e);
+            }
+        });
+
+        ServerLifecycleEvents.SERVER_STOPPING.register(server -> {
+            if (instance != null) {
+                instance.stop();
+                instance = null;
+            }
+        });
+    }
+
+    private static PartyStatusServer start(MinecraftServer server, PartyConfig.StatusConfig config) throws IOException {
+        var http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.port()), 0);
+        var executor = Executors.newVirtualThreadPerTaskExecutor();
+        http.setExecutor(executor);
+
+        var statusServer = new PartyStatusServer(server, http, executor);
+        http.createContext("/status", statusServer::handleStatus);
+        http.createContext("/parties", statusServer::handleParties);
+        http.start();
+
+        return statusServer;
+    }
+
+    private void stop() {
+        this.http.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var snapshot = this.acceptSnapshot(exchange);
+            if (snapshot == null) {
+                return;
+            }
+
+            try (var writer = this.beginJson(exchange)) {
+                writer.beginObject();
+                writer.name("version").value(snapshot.version());
+                writer.name("parties").value(snapshot.parties().size());
+                writer.name("members").value(snapshot.members());
+                writer.name("pending_invites").value(snapshot.pendingInvites());
+                writer.name("reclaimed_parties").value(snapshot.reclaimedParties());
+                writer.name("reclaimed_invites").value(snapshot.reclaimedInvites());
+                writer.name("integrity_violations").value(snapshot.integrityViolations());
+                writer.name("dropped_events").value(snapshot.droppedEvents());
+                writer.endObject();
+            }
+        }
+    }
+
+    private void handleParties(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var snapshot = this.acceptSnapshot(exchange);
+            if (snapshot == null) {
+                return;
+            }
+
+            var query = exchange.getRequestURI().getRawQuery();
+            int offset = Math.max(getIntParameter(query, "offset", 0), 0);
+            int limit = Math.clamp(getIntParameter(query, "limit", DEFAULT_PAGE_SIZE), 1, MAX_PAGE_SIZE);
+
+            var parties = snapshot.parties();
+            int end = (int) Math.min((long) offset + limit, parties.size());
+
+            try (var writer = this.beginJson(exchange)) {
+                writer.beginObject();
+                writer.name("version").value(snapshot.version());
+                writer.name("total").value(parties.size());
+                writer.name("offset").value(offset);
+
+                writer.name("parties").beginArray();
+                for (int i = offset; i < end; i++) {
+                    writeParty(writer, parties.get(i));
+                }
+                writer.endArray();
+
+                writer.endObject();
+            }
+        }
+    }
+
+    /**
+     * Validates the request and resolves the snapshot to respond with, or responds directly and returns null if the
+     * request was rejected or the client already has the current version.
+     */
+    @Nullable
+    private PartySnapshot acceptSnapshot(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(405, -1);
+            return null;
+        }
+
+        var etag = etag(this.partyManager.getVersion(), this.partyManager.getDroppedEvents());
+
+        var headers = exchange.getResponseHeaders();
+        headers.set("ETag", etag);
+        headers.set("Cache-Control", "no-cache");
+
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            return null;
+        }
+
+        try {
+            var snapshot = this.getSnapshot();
+            headers.set("ETag", etag(snapshot.version(), snapshot.droppedEvents()));
+            return snapshot;
+        } catch (ExecutionException | TimeoutException e) {
+            exchange.sendResponseHeaders(503, -1);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+            return null;
+        }
+    }
+
+    private PartySnapshot getSnapshot() throws ExecutionException, InterruptedException, TimeoutException {
+        var snapshot = this.snapshot;
+        // events may be dropped without any party changing, so the drop count is part of the snapshot's identity
+        if (snapshot != null && snapshot.version() == this.partyManager.getVersion() && snapshot.droppedEvents() == this.partyManager.getDroppedEvents()) {
+            return snapshot;
+        }
+
+        // the snapshot is built as a task on the server thread, while this request thread waits for it
+        snapshot = this.server.submit(this.partyManager::createSnapshot).get(SNAPSHOT_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        this.snapshot = snapshot;
+
+        return snapshot;
+    }
+
+    private JsonWriter beginJson(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+
+        return new JsonWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+    }
+
+    private static void writeParty(JsonWriter writer, PartySnapshot.PartyEntry party) throws IOException {
+        writer.beginObject();
+        writer.name("uuid").value(party.uuid().toString());
+
+        writer.name("owner");
+        writeMember(writer, party.owner());
+
+        writer.name("members").beginArray();
+        for (var member : party.members()) {
+            writeMember(writer, member);
+        }
+        writer.endArray();
+
+        writer.name("pending").beginArray();
+        for (var pending : party.pending()) {
+            writeMember(writer, pending);
+        }
+        writer.endArray();
+
+        writer.endObject();
+    }
+
+    private static void writeMember(JsonWriter writer, PartySnapshot.Member member) throws IOException {
+        writer.beginObject();
+        writer.name("id").value(member.id().toString());
+        writer.name("name").value(member.name());
+        writer.endObject();
+    }
+
+    private static String etag(long version, long droppedEvents) {
+        return "\"" + version + "-" + droppedEvents + "\"";
+    }
+
+    private static int getIntParameter(String query, String name, int fallback) {
+        if (query == null) {
+            return fallback;
+        }
+
+        for (var parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator < 0 || !URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8).equals(name)) {
+                continue;
+            }
+
+            try {
+                return Integer.parseInt(URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            } catch (NumberFormatException e) {
+                return fallback;
+            }
+        }
+
+        return fallback;
+    }
+}
@@ -0,0 +1,119 @@
+package xyz.nucleoid.parties;
+
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.Suggestions;
+import com.mojang.brigadier.suggestion.SuggestionsBuilder;
+import net.minecraft.command.CommandSource;
+import net.minecraft.server.command.ServerCommandSource;
+import xyz.nucleoid.plasmid.api.util.PlayerRef;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public final class PartySuggestions {
+    public static CompletableFuture<Suggestions> invitedOwners(CommandContext<ServerCommandSource> ctx, SuggestionsBuilder builder) {
+        var source = ctx.getSource();
+        var player = source.getPlayer();
+        if (player == null) {
+            return builder.buildFuture();
+        }
+
+        var server = source.getServer();
+        var partyManager = PartyManager.get(server);
+
+        var names = new ArrayList<String>();
+        for (var party : partyManager.getInvitedParties(PlayerRef.of(player))) {
+            var owner = party.getOwner().getEntity(server);
+            if (owner != null) {
+                names.add(owner.getGameProfile().getName());
+            }
+        }
+
+        return CommandSource.suggestMatching(names, builder);
+    }
+
+    public static CompletableFuture<Suggestions> invitedParties(CommandContext<ServerCommandSource> ctx, SuggestionsBuilder builder) {
+        var source = ctx.getSource();
+        var player = source.getPlayer();
+        if (player == null) {
+            return builder.buildFuture();
+        }
+
+        var partyManager = PartyManager.get(source.getServer());
+
+        var uuids = new ArrayList<String>();
+        for (var party : partyManager.getInvitedParties(PlayerRef.of(player))) {
+            uuids.add(party.getUuid().toString());
+        }
+
+        return CommandSource.suggestMatching(uuids, builder);
+    }
+
+    public static CompletableFuture<Suggestions> ownMembers(CommandContext<ServerCommandSource> ctx, SuggestionsBuilder builder) {
+        var source = ctx.getSource();
+        var player = source.getPlayer();
+        if (player == null) {
+            return builder.buildFuture();
+        }
+
+        var server = source.getServer();
+        var partyManager = PartyManager.get(server);
+
+        var ref = PlayerRef.of(player);
+        var party = partyManager.getOwnParty(ref);
+        if (party == null) {
+            return builder.buildFuture();
+        }
+
+        var names = new ArrayList<String>();
+        for (var member : party.getMembers()) {
+            if (member.equals(ref)) {
+                continue;
+            }
+
+            var memberPlayer = member.getEntity(server);
+            if (memberPlayer != null) {
+                names.add(memberPlayer.getGameProfile().getName());
+            }
+        }
+
+        return CommandSource.suggestMatching(names, builder);
+    }
+
+    public static CompletableFuture<Suggestions> ownMembersAndInvites(CommandContext<ServerCommandSource> ctx, SuggestionsBuilder builder) {
+        var source = ctx.getSource();
+        var player = source.getPlayer();
+        if (player == null) {
+            return builder.buildFuture();
+        }
+
+        var partyManager = PartyManager.get(source.getServer());
+
+        var ref = PlayerRef.of(player);
+        var party = partyManager.getOwnParty(ref);
+        if (party == null) {
+            return builder.buildFuture();
+        }
+
+        var names = new ArrayList<String>();
+        for (var member : party.getMembers()) {
+            if (!member.equals(ref)) {
+                addName(partyManager, member, names);
+            }
+        }
+
+        for (var pending : party.getPendingMembers()) {
+            addName(partyManager, pending, names);
+        }
+
+        return CommandSource.suggestMatching(names, builder);
+    }
+
+    private static void addName(PartyManager partyManager, PlayerRef player, List<String> names) {
+        var name = partyManager.getPlayerName(player);
+        if (name != null) {
+            names.add(name);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package xyz.nucleoid.parties;
+
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+
+/**
+ * Incrementally walks all known parties to reclaim parties which no longer have an owner, as well as invites which are
+ * left dangling or whose invited player has been offline for too long. Work is spread over ticks and bounded by a per-tick time and party budget.
+ */
+public final class PartySweeper {
+    private static final int SWEEP_INTERVAL_TICKS = 20 * 60;
+    private static final int MAX_PARTIES_PER_TICK = 64;
+    private static final long MAX_NANOS_PER_TICK = 250_000;
+
+    private final ObjectArrayList<Party> queue = new ObjectArrayList<>();
+    private int cursor;
+    private int ticksUntilSweep = SWEEP_INTERVAL_TICKS;
+
+    private long completedSweeps;
+    private long reclaimedParties;
+    private long reclaimedInvites;
+
+    void tick(PartyManager partyManager) {
+        if (this.cursor >= this.queue.size()) {
+            if (--this.ticksUntilSweep > 0) {
+                return;
+            }
+
+            this.ticksUntilSweep = SWEEP_INTERVAL_TICKS;
+            this.startSweep(partyManager);
+        }
+
+        long start = System.nanoTime();
+        int processed = 0;
+
+        while (this.cursor < this.queue.size()) {
+            var party = this.queue.set(this.cursor++, null);
+
+            if (partyManager.reclaimIfOrphaned(party)) {
+                this.reclaimedParties++;
+            } else {
+                this.reclaimedInvites += partyManager.reclaimDanglingInvites(party);
+            }
+
+            if (++processed >= MAX_PARTIES_PER_TICK || System.nanoTime() - start >= MAX_NANOS_PER_TICK) {
+                break;
+            }
+        }
+
+        if (this.cursor >= this.queue.size()) {
+            this.queue.clear();
+            this.cursor = 0;
+            this.completedSweeps++;
+        }
+    }
+
+    private void startSweep(PartyManager partyManager) {
+        this.queue.clear();
+        this.cursor = 0;
+        this.queue.addAll(partyManager.getKnownParties());
+    }
+
+    public long getCompletedSweeps() {
+        return this.completedSweeps;
+    }
+
+    public long getReclaimedParties() {
+        return this.reclaimedParties;
+    }
+
+    public long getReclaimedInvites() {
+        return this.reclaimedInvites;
+    }
+}
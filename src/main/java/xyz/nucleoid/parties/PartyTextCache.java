@@ -0,0 +1,243 @@
+package xyz.nucleoid.parties;
+
+import com.google.gson.JsonParser;
+import com.mojang.logging.LogUtils;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.text.HoverEvent;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
+import net.minecraft.text.Text;
+import net.minecraft.text.TranslatableTextContent;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Resolves party texts against the bundled translations on the server and caches the result per language, so that a
+ * message broadcast to many players is only translated once for each language among the recipients.
+ */
+public final class PartyTextCache {
+    private static final String DEFAULT_LANGUAGE = "en_us";
+    private static final int MAX_ENTRIES = 512;
+
+    private static final String LANGUAGE_PATH = "data/" + GameParties.ID + "/lang";
+
+    private static final Logger LOGGER = LogUtils.getLogger();
+
+    private static final Map<String, Map<String, String>> LANGUAGES = loadLanguages();
+    private static final Object2ObjectLinkedOpenHashMap<Key, Text> CACHE = new Object2ObjectLinkedOpenHashMap<>();
+
+    public static void send(Iterable<ServerPlayerEntity> players, Text text) {
+        // the text is only looked up once per language among the recipients, rather than once per recipient
+        var localized = new Object2ObjectOpenHashMap<String, Text>();
+        for (var player : players) {
+            var message = localized.computeIfAbsent(language(player), language -> localize(text, language));
+            player.sendMessage(message, false);
+        }
+    }
+
+    public static void send(ServerPlayerEntity player, Text text) {
+        player.sendMessage(localize(text, language(player)), false);
+    }
+
+    public static Text localize(Text text, String language) {
+        language = resolveLanguage(language);
+
+        var key = new Key(text, language);
+
+        var localized = CACHE.getAndMoveToLast(key);
+        if (localized == null) {
+            localized = translate(text, getLanguage(language), getLanguage(DEFAULT_LANGUAGE));
+
+            CACHE.putAndMoveToLast(key, localized);
+            if (CACHE.size() > MAX_ENTRIES) {
+                CACHE.removeFirst();
+            }
+        }
+
+        return localized;
+    }
+
+    public static String language(ServerCommandSource source) {
+        var player = source.getPlayer();
+        return player != null ? language(player) : DEFAULT_LANGUAGE;
+    }
+
+    /**
+     * Resolves the language of the given player to one of the bundled languages, falling back to the default language
+     * if the client reports one that is not bundled.
+     */
+    public static String language(ServerPlayerEntity player) {
+        return resolveLanguage(player.getClientOptions().language().toLowerCase(Locale.ROOT));
+    }
+
+    private static String resolveLanguage(String language) {
+        return LANGUAGES.containsKey(language) ? language : DEFAULT_LANGUAGE;
+    }
+
+    private static Map<String, String> getLanguage(String language) {
+        return LANGUAGES.get(language);
+    }
+
+    /**
+     * Loads every bundled language up front, so that the languages reported by clients are only ever used as lookup
+     * keys into a fixed set, and never to build resource paths.
+     */
+    private static Map<String, Map<String, String>> loadLanguages() {
+        var languages = new Object2ObjectOpenHashMap<String, Map<String, String>>();
+
+        var root = FabricLoader.getInstance().getModContainer(GameParties.ID)
+                .flatMap(mod -> mod.findPath(LANGUAGE_PATH));
+
+        if (root.isPresent()) {
+            try (var files = Files.list(root.get())) {
+                files.forEach(path -> {
+                    var fileName = path.getFileName().toString();
+                    if (fileName.endsWith(".json")) {
+                        var language = fileName.substring(0, fileName.length() - ".json".length()).toLowerCase(Locale.ROOT);
+                        languages.put(language, loadLanguage(path));
+                    }
+                });
+            } catch (IOException e) {
+                LOGGER.warn("Failed to list bundled party languages in {}", root.get(), e);
+            }
+        } else {
+            LOGGER.warn("Could not find bundled party languages at {}", LANGUAGE_PATH);
+        }
+
+        languages.putIfAbsent(DEFAULT_LANGUAGE, Map.of());
+
+        return Map.copyOf(languages);
+    }
+
+    private static Map<String, String> loadLanguage(Path path) {
+        var translations = new Object2ObjectOpenHashMap<String, String>();
+
+        try (var reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            var root = JsonParser.parseReader(reader).getAsJsonObject();
+            for (var entry : root.entrySet()) {
+                translations.put(entry.getKey(), entry.getValue().getAsString());
+            }
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Failed to load bundled party language from {}", path, e);
+            translations.clear();
+        }
+
+        return translations;
+    }
+
+    private static MutableText translate(Text text, Map<String, String> language, Map<String, String> fallback) {
+        MutableText result = null;
+
+        if (text.getContent() instanceof TranslatableTextContent translatable) {
+            var format = language.get(translatable.getKey());
+            if (format == null) {
+                format = fallback.get(translatable.getKey());
+            }
+
+            if (format != null) {
+                result = format(format, translatable.getArgs(), language, fallback);
+            }
+        }
+
+        if (result == null) {
+            result = MutableText.of(text.getContent());
+        }
+
+        result.setStyle(translateStyle(text.getStyle(), language, fallback));
+
+        for (var sibling : text.getSiblings()) {
+            result.append(translate(sibling, language, fallback));
+        }
+
+        return result;
+    }
+
+    private static Style translateStyle(Style style, Map<String, String> language, Map<String, String> fallback) {
+        var hoverEvent = style.getHoverEvent();
+        if (hoverEvent != null) {
+            var hoverText = hoverEvent.getValue(HoverEvent.Action.SHOW_TEXT);
+            if (hoverText != null) {
+                return style.withHoverEvent(new HoverEvent(HoverEvent.Action.SHOW_TEXT, translate(hoverText, language, fallback)));
+            }
+        }
+
+        return style;
+    }
+
+    private static MutableText format(String format, Object[] args, Map<String, String> language, Map<String, String> fallback) {
+        var result = Text.empty();
+        var literal = new StringBuilder();
+        int nextArg = 0;
+
+        for (int i = 0; i < format.length(); i++) {
+            char c = format.charAt(i);
+            if (c != '%' || i + 1 >= format.length()) {
+                literal.append(c);
+                continue;
+            }
+
+            char next = format.charAt(i + 1);
+            if (next == '%') {
+                literal.append('%');
+                i++;
+                continue;
+            }
+
+            int index;
+            int end;
+            if (next == 's') {
+                index = nextArg++;
+                end = i + 1;
+            } else {
+                int dollar = format.indexOf("$s", i + 1);
+                if (dollar < 0) {
+                    literal.append(c);
+                    continue;
+                }
+
+                try {
+                    index = Integer.parseInt(format, i + 1, dollar, 10) - 1;
+                } catch (NumberFormatException e) {
+                    literal.append(c);
+                    continue;
+                }
+                end = dollar + 1;
+            }
+
+            if (!literal.isEmpty()) {
+                result.append(literal.toString());
+                literal.setLength(0);
+            }
+
+            if (index >= 0 && index < args.length) {
+                var arg = args[index];
+                if (arg instanceof Text argText) {
+                    result.append(translate(argText, language, fallback));
+                } else {
+                    result.append(String.valueOf(arg));
+                }
+            }
+
+            i = end;
+        }
+
+        if (!literal.isEmpty()) {
+            result.append(literal.toString());
+        }
+
+        return result;
+    }
+
+    private record Key(Text text, String language) {
+    }
+}
@@ -27,8 +27,8 @@ public final class PartyTexts {
         };
     }
 
-    public static MutableText joinSuccess(ServerPlayerEntity player) {
-        return Text.translatable("text.game_parties.party.join.success", player.getDisplayName());
+    public static MutableText lookupFailed(String player) {
+        return Text.translatable("text.game_parties.party.error.lookup_failed", player);
     }
 
     public static MutableText leaveSuccess(ServerPlayerEntity player) {
@@ -43,16 +43,20 @@ public final class PartyTexts {
         return Text.translatable("text.game_parties.party.add.success", player.getDisplayName());
     }
 
-    public static MutableText removeSuccess(ServerPlayerEntity player) {
-        return Text.translatable("text.game_parties.party.remove.success", player.getDisplayName());
+    public static MutableText removeSuccess(String player) {
+        return Text.translatable("text.game_parties.party.remove.success", player);
+    }
+
+    public static MutableText mergeSuccess(ServerPlayerEntity first, ServerPlayerEntity second) {
+        return Text.translatable("text.game_parties.party.merge.success", first.getDisplayName(), second.getDisplayName());
     }
 
     public static MutableText transferredSender(ServerPlayerEntity transferredTo) {
         return Text.translatable("text.game_parties.party.transferred.sender", transferredTo.getDisplayName());
     }
 
-    public static MutableText transferredReceiver(ServerPlayerEntity transferredFrom) {
-        return Text.translatable("text.game_parties.party.transferred.receiver", transferredFrom.getDisplayName());
+    public static MutableText transferredReceiver(Text transferredFrom) {
+        return Text.translatable("text.game_parties.party.transferred.receiver", transferredFrom);
     }
 
     public static MutableText kickedSender(ServerPlayerEntity player) {
@@ -80,8 +84,20 @@ public final class PartyTexts {
                 ));
     }
 
-    public static MutableText leftGame(ServerPlayerEntity player) {
-        return Text.translatable("text.game_parties.party.left_game", player.getDisplayName());
+    public static MutableText digestOne(String key, Text player) {
+        return Text.translatable(key, player);
+    }
+
+    public static MutableText digestTwo(String key, Text first, Text second) {
+        return Text.translatable(key + ".two", first, second);
+    }
+
+    public static MutableText digestThree(String key, Text first, Text second, Text third) {
+        return Text.translatable(key + ".three", first, second, third);
+    }
+
+    public static MutableText digestMany(String key, Text first, Text second, int others) {
+        return Text.translatable(key + ".many", first, second, others);
     }
 
     public static MutableText noParties() {
@@ -108,6 +124,30 @@ public final class PartyTexts {
         return Text.translatable("text.game_parties.party.list.member.type.pending");
     }
 
+    public static MutableText sidebarTitle() {
+        return Text.translatable("text.game_parties.party.sidebar.title");
+    }
+
+    public static MutableText sidebarMemberInGame(Text name, Text game) {
+        return Text.translatable("text.game_parties.party.sidebar.member.in_game", name, game);
+    }
+
+    public static MutableText sidebarMemberOffline(PlayerRef member, MinecraftServer server) {
+        return Text.translatable("text.game_parties.party.sidebar.member.offline", name(member, server));
+    }
+
+    public static MutableText sidebarEnabled() {
+        return Text.translatable("text.game_parties.party.sidebar.enabled");
+    }
+
+    public static MutableText sidebarEnabledNoParty() {
+        return Text.translatable("text.game_parties.party.sidebar.enabled.no_party");
+    }
+
+    public static MutableText sidebarDisabled() {
+        return Text.translatable("text.game_parties.party.sidebar.disabled");
+    }
+
     private static Text name(PlayerRef ref, MinecraftServer server) {
         var player = ref.getEntity(server);
         if (player == null) {
@@ -0,0 +1,140 @@
+package xyz.nucleoid.parties;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+final class PartyLobbyGroupsTest {
+    private static final long TICK_NANOS = 50_000_000L;
+
+    private static final int WARMUP_ROUNDS = 50;
+    private static final int MEASURED_ROUNDS = 100;
+
+    @Test
+    void groupsPlayersByParty() {
+        var players = List.of(1, 2, 3, 4, 5);
+        var parties = new Integer[] { null, 10, 20, 10, null, 20 };
+
+        var groups = PartyLobbyGroups.groupByParty(players, player -> parties[player]);
+
+        assertEquals(List.of(List.of(1, 3), List.of(2, 5), List.of(4)), groups);
+    }
+
+    @Test
+    void keepsGroupsWithinSize() {
+        var groups = List.of(List.of(1, 2, 3), List.of(4));
+
+        for (var policy : PartyLobbyGroups.OversizedPolicy.values()) {
+            assertEquals(groups, PartyLobbyGroups.splitOversized(groups, 3, policy));
+        }
+    }
+
+    @Test
+    void splitsOversizedGroupsEvenly() {
+        var groups = List.of(List.of(1, 2, 3, 4, 5, 6, 7));
+
+        var result = PartyLobbyGroups.splitOversized(groups, 3, PartyLobbyGroups.OversizedPolicy.SPLIT);
+
+        assertEquals(List.of(List.of(1, 2), List.of(3, 4), List.of(5, 6, 7)), result);
+    }
+
+    @Test
+    void keepsOrDissolvesOversizedGroups() {
+        var groups = List.of(List.of(1, 2, 3));
+
+        assertEquals(groups, PartyLobbyGroups.splitOversized(groups, 2, PartyLobbyGroups.OversizedPolicy.KEEP));
+        assertEquals(
+                List.of(List.of(1), List.of(2), List.of(3)),
+                PartyLobbyGroups.splitOversized(groups, 2, PartyLobbyGroups.OversizedPolicy.DISSOLVE)
+        );
+    }
+
+    @Test
+    void ordersLargestGroupsFirst() {
+        var groups = new ArrayList<>(List.of(List.of(1), List.of(2, 3), List.of(4), List.of(5, 6, 7), List.of(8, 9)));
+
+        PartyLobbyGroups.sortLargestFirst(groups);
+
+        assertEquals(List.of(List.of(5, 6, 7), List.of(2, 3), List.of(8, 9), List.of(1), List.of(4)), groups);
+    }
+
+    @Test
+    void ordersKeptOversizedGroupsFirst() {
+        var groups = List.of(List.of(1), List.of(2, 3, 4, 5, 6), List.of(7, 8));
+
+        var result = PartyLobbyGroups.splitOversized(groups, 2, PartyLobbyGroups.OversizedPolicy.KEEP);
+        PartyLobbyGroups.sortLargestFirst(result);
+
+        assertEquals(List.of(List.of(2, 3, 4, 5, 6), List.of(7, 8), List.of(1)), result);
+    }
+
+    /**
+     * Measures the whole pass run on lobby finalize, from grouping the lobby by party to splitting oversized parties
+     * and ordering the groups largest first, and checks that it comfortably fits within a single server tick for lobbies of thousands of players.
+     */
+    @Test
+    void finalizePassFitsWithinTick() {
+        for (int lobbySize : new int[] { 1_000, 5_000, 20_000 }) {
+            var players = new ArrayList<Integer>(lobbySize);
+            var parties = createParties(lobbySize, new Random(lobbySize));
+            for (int i = 0; i < lobbySize; i++) {
+                players.add(i);
+            }
+
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                runPass(players, parties);
+            }
+
+            var samples = new long[MEASURED_ROUNDS];
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                runPass(players, parties);
+                samples[i] = System.nanoTime() - start;
+            }
+
+            Arrays.sort(samples);
+            long median = samples[samples.length / 2];
+            long p99 = samples[samples.length * 99 / 100];
+
+            System.out.printf("lobby finalize pass: %d players, median %.3f ms, p99 %.3f ms%n", lobbySize, median / 1e6, p99 / 1e6);
+
+            assertTrue(median < TICK_NANOS, () -> "finalize pass for " + lobbySize + " players took " + median + "ns");
+        }
+    }
+
+    private static int runPass(List<Integer> players, Integer[] parties) {
+        var groups = PartyLobbyGroups.groupByParty(players, player -> parties[player]);
+        var result = PartyLobbyGroups.splitOversized(groups, 4, PartyLobbyGroups.OversizedPolicy.SPLIT);
+        PartyLobbyGroups.sortLargestFirst(result);
+        return result.size();
+    }
+
+    /**
+     * Assigns roughly half of the players to parties of between 2 and 12 players, leaving the rest without a party.
+     */
+    private static Integer[] createParties(int lobbySize, Random random) {
+        var parties = new Integer[lobbySize];
+
+        int player = 0;
+        int party = 0;
+        while (player < lobbySize) {
+            if (random.nextBoolean()) {
+                int size = Math.min(2 + random.nextInt(11), lobbySize - player);
+                for (int i = 0; i < size; i++) {
+                    parties[player++] = party;
+                }
+                party++;
+            } else {
+                player++;
+            }
+        }
+
+        return parties;
+    }
+}
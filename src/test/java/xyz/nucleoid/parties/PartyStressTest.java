@@ -0,0 +1,289 @@
+package xyz.nucleoid.parties;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.PlayerManager;
+import net.minecraft.text.Text;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import xyz.nucleoid.plasmid.api.util.PlayerRef;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Hammers the party registry from many threads at once, while the registry is ticked and its integrity verified in
+ * between. As on a real server, commands are handed to a single server thread, which is the only thread allowed to
+ * touch party state. Everything the registry exposes to other threads is raced directly from the worker threads: the
+ * manager is looked up as the first workers start, disconnects are reported through the same entry point as the
+ * registered handler, so that they hop onto the server thread themselves, and the version and dropped event counters
+ * are read while the server thread is writing them.
+ */
+final class PartyStressTest {
+    private static final int PLAYER_COUNT = 512;
+    private static final int OPERATIONS_PER_THREAD = 102_400;
+    private static final int BATCH_SIZE = 64;
+    private static final int[] THREAD_COUNTS = { 1, 2, 4, 8, 16 };
+    private static final int TICKS_PER_CHECK = 20;
+    private static final long CHECK_INTERVAL_NANOS = 1_000_000;
+
+    // small enough for the exporter to fall behind, so that events are dropped while the counter is being read
+    private static final PartyConfig.ExportConfig EXPORT_CONFIG = new PartyConfig.ExportConfig(true, "", 64, 1024 * 1024, 2);
+
+    private static final int MAX_REPORTED_VIOLATIONS = 10;
+
+    @TempDir
+    Path exportDirectory;
+
+    @BeforeAll
+    static void bootstrap() {
+        SharedConstants.createGameVersion();
+        Bootstrap.initialize();
+    }
+
+    @Test
+    void registryStaysConsistentUnderContention() throws Exception {
+        for (int threadCount : THREAD_COUNTS) {
+            var result = this.run(threadCount);
+
+            System.out.printf(
+                    "party stress: %2d threads, %d operations in %.1f ms, %.0f ops/s, %d integrity checks, %d parties reclaimed, %d events dropped%n",
+                    threadCount, result.operations(), result.nanos() / 1e6,
+                    result.operations() * 1e9 / result.nanos(),
+                    result.checks(), result.reclaimedParties(), result.droppedEvents()
+            );
+
+            assertTrue(result.violations().isEmpty(), () -> "integrity violated with " + threadCount + " threads: " + result.violations());
+        }
+    }
+
+    private Result run(int threadCount) throws Exception {
+        var serverThreadRef = new AtomicReference<Thread>();
+        var serverThread = Executors.newSingleThreadExecutor(runnable -> {
+            var thread = new Thread(runnable, "Server thread");
+            serverThreadRef.set(thread);
+            return thread;
+        });
+
+        var workerPool = Executors.newFixedThreadPool(threadCount);
+        var exporter = PartyEventExporter.start(EXPORT_CONFIG, this.exportDirectory.resolve(String.valueOf(threadCount)));
+
+        try {
+            var server = createServer(serverThread, serverThreadRef);
+
+            var players = new PlayerRef[PLAYER_COUNT];
+            for (int i = 0; i < players.length; i++) {
+                players[i] = new PlayerRef(UUID.randomUUID());
+            }
+
+            var violations = new ConcurrentLinkedQueue<String>();
+            var managers = new ConcurrentLinkedQueue<PartyManager>();
+
+            // the workers race to look up the manager of the new server, and must all end up with the same one
+            var start = new CountDownLatch(1);
+            var workers = new ArrayList<CompletableFuture<Void>>(threadCount);
+
+            for (int i = 0; i < threadCount; i++) {
+                var random = new SplittableRandom(31L * threadCount + i);
+                workers.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new CompletionException(e);
+                    }
+
+                    var partyManager = PartyManager.get(server);
+                    managers.add(partyManager);
+                    runWorker(server, partyManager, players, random, serverThread, violations);
+                }, workerPool));
+            }
+
+            long startTime = System.nanoTime();
+            start.countDown();
+
+            var partyManager = PartyManager.get(server);
+            managers.add(partyManager);
+            CompletableFuture.runAsync(() -> partyManager.setEventExporter(exporter), serverThread).join();
+
+            var running = new AtomicBoolean(true);
+
+            // stands in for the server tick loop, interleaving ticks and integrity checks with the incoming operations
+            var checks = CompletableFuture.supplyAsync(() -> {
+                long checkCount = 0;
+                while (running.get()) {
+                    var snapshot = CompletableFuture.supplyAsync(() -> {
+                        for (int i = 0; i < TICKS_PER_CHECK; i++) {
+                            partyManager.tick();
+                        }
+                        reportViolations(partyManager.verifyIntegrity(), violations);
+                        return partyManager.createSnapshot();
+                    }, serverThread).join();
+
+                    if (snapshot.integrityViolations() != 0) {
+                        violations.add("snapshot at version " + snapshot.version() + " has " + snapshot.integrityViolations() + " integrity violations");
+                    }
+                    checkCount++;
+
+                    LockSupport.parkNanos(CHECK_INTERVAL_NANOS);
+                }
+                return checkCount;
+            });
+
+            CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+            long nanos = System.nanoTime() - startTime;
+
+            running.set(false);
+            long checkCount = checks.join();
+
+            for (var manager : managers) {
+                if (manager != partyManager) {
+                    violations.add("a worker was handed a different manager for the same server");
+                    break;
+                }
+            }
+
+            // queued after every disconnect the workers handed over, so these are applied by the time it runs
+            reportViolations(CompletableFuture.supplyAsync(partyManager::verifyIntegrity, serverThread).join(), violations);
+
+            return new Result(
+                    (long) threadCount * OPERATIONS_PER_THREAD, nanos, checkCount,
+                    partyManager.getSweeper().getReclaimedParties(),
+                    partyManager.getDroppedEvents(),
+                    List.copyOf(violations)
+            );
+        } finally {
+            workerPool.shutdown();
+            serverThread.shutdown();
+            serverThread.awaitTermination(10, TimeUnit.SECONDS);
+            exporter.close();
+        }
+    }
+
+    private static void runWorker(
+            MinecraftServer server, PartyManager partyManager, PlayerRef[] players,
+            SplittableRandom random, ExecutorService serverThread, ConcurrentLinkedQueue<String> violations
+    ) {
+        var batch = new int[BATCH_SIZE * 3];
+        long lastVersion = 0;
+        long lastDroppedEvents = 0;
+
+        for (int done = 0; done < OPERATIONS_PER_THREAD; done += BATCH_SIZE) {
+            int batchLength = 0;
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                int kind = random.nextInt(100);
+                int first = random.nextInt(players.length);
+                int second = random.nextInt(players.length);
+
+                if (kind >= 95) {
+                    // a disconnect reported off the server thread, which has to hand itself over
+                    PartyManager.onDisconnect(server, players[first], Text.literal("Player" + first));
+                } else {
+                    batch[batchLength++] = kind;
+                    batch[batchLength++] = first;
+                    batch[batchLength++] = second;
+                }
+            }
+
+            // like a command arriving from the network, the batch is handed to the server thread and awaited
+            int length = batchLength;
+            CompletableFuture.runAsync(() -> {
+                for (int i = 0; i < length; i += 3) {
+                    applyOperation(server, partyManager, players, batch[i], batch[i + 1], batch[i + 2]);
+                }
+            }, serverThread).join();
+
+            if (PartyManager.get(server) != partyManager) {
+                violations.add("the manager changed while its server was running");
+            }
+
+            long version = partyManager.getVersion();
+            if (version < lastVersion) {
+                violations.add("version went backwards from " + lastVersion + " to " + version);
+            }
+            lastVersion = version;
+
+            long droppedEvents = partyManager.getDroppedEvents();
+            if (droppedEvents < lastDroppedEvents) {
+                violations.add("dropped events went backwards from " + lastDroppedEvents + " to " + droppedEvents);
+            }
+            lastDroppedEvents = droppedEvents;
+        }
+    }
+
+    private static void applyOperation(MinecraftServer server, PartyManager partyManager, PlayerRef[] players, int kind, int first, int second) {
+        var player = players[first];
+
+        if (kind < 35) {
+            partyManager.invitePlayer(player, players[second]);
+        } else if (kind < 65) {
+            var invites = new ArrayList<>(partyManager.getInvitedParties(player));
+            if (!invites.isEmpty()) {
+                partyManager.acceptInvite(player, invites.get(second % invites.size()));
+            }
+        } else if (kind < 80) {
+            var party = partyManager.getOwnParty(player);
+            if (party != null) {
+                var candidates = new ArrayList<>(party.getMembers());
+                candidates.addAll(party.getPendingMembers());
+                partyManager.kickPlayer(player, candidates.get(second % candidates.size()));
+            }
+        } else if (kind < 90) {
+            partyManager.leaveParty(player);
+        } else {
+            // a disconnect reported on the server thread, which is applied straight away
+            PartyManager.onDisconnect(server, player, Text.literal("Player" + first));
+        }
+    }
+
+    private static void reportViolations(List<String> found, ConcurrentLinkedQueue<String> violations) {
+        for (var violation : found) {
+            if (violations.size() >= MAX_REPORTED_VIOLATIONS) {
+                return;
+            }
+            violations.add(violation);
+        }
+    }
+
+    /**
+     * Creates a server with nobody online, which is all the party registry needs: every player is treated as offline,
+     * so no messages are sent and no player entities are required. Like the real server, it runs tasks submitted from
+     * other threads on its own thread.
+     */
+    private static MinecraftServer createServer(ExecutorService serverThread, AtomicReference<Thread> serverThreadRef) {
+        var server = mock(MinecraftServer.class, withSettings().stubOnly());
+        var playerManager = mock(PlayerManager.class, withSettings().stubOnly());
+        when(server.getPlayerManager()).thenReturn(playerManager);
+        when(server.isOnThread()).thenAnswer(invocation -> Thread.currentThread() == serverThreadRef.get());
+        doAnswer(invocation -> {
+            serverThread.execute(invocation.getArgument(0));
+            return null;
+        }).when(server).execute(any(Runnable.class));
+        return server;
+    }
+
+    private record Result(long operations, long nanos, long checks, long reclaimedParties, long droppedEvents, List<String> violations) {
+    }
+}